@@ -0,0 +1,37 @@
+package com.jaceg18.Gameplay.Bench;
+
+import com.jaceg18.Gameplay.Search.AI.Evaluation.Eval;
+import com.jaceg18.Gameplay.Search.AI.Evaluation.PawnHashTable;
+import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvalBenchmark {
+
+    @Benchmark
+    public int evaluate(PositionState p) {
+        return Eval.evaluate(p.state);
+    }
+
+    private final PawnHashTable pawns = new PawnHashTable(PawnHashTable.DEFAULT_MB, new SearchMetrics());
+
+    @Benchmark
+    public int evaluateIncremental(PositionState p) {
+        return Eval.evaluateIncremental(p.state, pawns);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jaceg18.Gameplay.Bench;
+
+import com.jaceg18.Gameplay.Utility.Attacks;
+import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveGen;
+import com.jaceg18.Gameplay.Zobrist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenBenchmark {
+
+    @Benchmark
+    public int generatePseudoLegal(PositionState p) {
+        p.scratch.clear();
+        MoveGen.generate(p.state, p.state.whiteToMove(), p.scratch);
+        return p.scratch.size();
+    }
+
+    @Benchmark
+    public int generateLegal(PositionState p) {
+        MoveGen.generateAllLegal(p.state, p.scratch);
+        return p.scratch.size();
+    }
+
+    @Benchmark
+    public long makeUnmakeAll(PositionState p) {
+        long acc = 0;
+        GameState s = p.state;
+        for (int i = 0; i < p.legal.size(); i++) {
+            s.makeInPlace(p.legal.get(i), p.undo);
+            acc ^= s.hash();
+            s.unmake(p.undo);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public long zobristCompute(PositionState p) {
+        return Zobrist.compute(p.state);
+    }
+
+    @Benchmark
+    public int squareAttackedBy(PositionState p) {
+        int n = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            if (Attacks.isSquareAttackedBy(p.state, sq, true)) n++;
+            if (Attacks.isSquareAttackedBy(p.state, sq, false)) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jaceg18.Gameplay.Bench;
+
+import com.jaceg18.Gameplay.Perft.PerftSuite;
+import com.jaceg18.Gameplay.TB.FenUtil;
+import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveGen;
+import com.jaceg18.Gameplay.Utility.MoveList;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** One benchmark position per trial, plus its legal moves and scratch buffers. */
+@State(Scope.Thread)
+public class PositionState {
+    public static final String MIDDLEGAME = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+    public static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    @Param({PerftSuite.START, PerftSuite.KIWIPETE, MIDDLEGAME, ENDGAME})
+    public String fen;
+
+    public GameState state;
+    public final MoveList legal = new MoveList();
+    public final MoveList scratch = new MoveList();
+    public final GameState.Undo undo = new GameState.Undo();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        state = FenUtil.fromFEN(fen);
+        MoveGen.generateAllLegal(state, legal);
+    }
+}
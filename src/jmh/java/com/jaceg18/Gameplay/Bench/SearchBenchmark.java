@@ -0,0 +1,51 @@
+package com.jaceg18.Gameplay.Bench;
+
+import com.jaceg18.Gameplay.Search.AI.Algorithm.ArrayTranspositionTable;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.DefaultMoveOrderer;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.NegamaxAB;
+import com.jaceg18.Gameplay.Search.AI.Evaluation.EvaluationStrategy;
+import com.jaceg18.Gameplay.Search.AI.SearchConstants;
+import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
+import com.jaceg18.Gameplay.Utility.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Fixed-depth search from a cold table; one invocation is one full iterative-deepening run. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"6"})
+    public int depth;
+
+    private NegamaxAB search;
+    private GameState root;
+
+    @Setup(Level.Invocation)
+    public void setUp(PositionState p) {
+        root = p.state.copy();
+        search = new NegamaxAB(new SearchConstants(), new ArrayTranspositionTable(1 << 18), new DefaultMoveOrderer(),
+                new EvaluationStrategy.Incremental(), new SearchMetrics(), () -> depth, d -> {});
+    }
+
+    @Benchmark
+    public int fixedDepth() {
+        return search.computeBestMove(root, null);
+    }
+}
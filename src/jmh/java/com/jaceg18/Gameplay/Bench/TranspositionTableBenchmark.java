@@ -0,0 +1,53 @@
+package com.jaceg18.Gameplay.Bench;
+
+import com.jaceg18.Gameplay.Search.AI.Algorithm.ArrayTranspositionTable;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TranspositionTableBenchmark {
+    private static final int KEYS = 1 << 16;
+
+    private TranspositionTable tt;
+    private final long[] keys = new long[KEYS];
+    private final TranspositionTable.ProbeOut out = new TranspositionTable.ProbeOut();
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tt = new ArrayTranspositionTable(1 << 20);
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 0; i < KEYS; i++) keys[i] = rnd.nextLong();
+        for (int i = 0; i < KEYS; i += 2) tt.store(keys[i], 4, TranspositionTable.EXACT, i & 1023, i, tt.age());
+    }
+
+    @Benchmark
+    public boolean probe() {
+        long key = keys[cursor++ & (KEYS - 1)];
+        return tt.probe(key, 2, -100, 100, out);
+    }
+
+    @Benchmark
+    public void store() {
+        int i = cursor++ & (KEYS - 1);
+        tt.store(keys[i], i & 15, TranspositionTable.LOWER, i & 511, i, tt.age());
+    }
+}
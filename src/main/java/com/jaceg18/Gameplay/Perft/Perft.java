@@ -0,0 +1,146 @@
+package com.jaceg18.Gameplay.Perft;
+
+import com.jaceg18.Gameplay.Search.AI.Algorithm.Util;
+import com.jaceg18.Gameplay.TB.FenUtil;
+import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveGen;
+import com.jaceg18.Gameplay.Utility.MoveList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Move-generator perft: counts leaf nodes of the legal move tree through MoveGen and
+ * GameState.makeInPlace/unmake. Root moves are split across worker threads, each on its own copy.
+ *
+ * <pre>
+ *   java ... Perft [fen] depth [threads]    run one position with divide output
+ *   java ... Perft --suite [threads]        run the built-in suite and exit non-zero on mismatch
+ * </pre>
+ */
+public final class Perft {
+
+    public record Result(long nodes, long nanos, Map<String, Long> divide) {
+        public long nps() { return nanos > 0 ? (nodes * 1_000_000_000L) / nanos : 0; }
+        public long millis() { return nanos / 1_000_000; }
+    }
+
+    private final MoveList[] lists;
+    private final GameState.Undo[] undo;
+
+    private Perft(int depth) {
+        lists = new MoveList[depth + 1];
+        undo = new GameState.Undo[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+            lists[i] = new MoveList();
+            undo[i] = new GameState.Undo();
+        }
+    }
+
+    public static long count(GameState s, int depth) {
+        if (depth <= 0) return 1;
+        return new Perft(depth).perft(s, depth, 0);
+    }
+
+    public static Result run(String fen, int depth, int threads) {
+        return run(FenUtil.fromFEN(fen), depth, threads);
+    }
+
+    public static Result run(GameState root, int depth, int threads) {
+        if (depth < 1) throw new IllegalArgumentException("depth must be >= 1");
+        MoveList rootMoves = new MoveList();
+        MoveGen.generateAllLegal(root, rootMoves);
+
+        long t0 = System.nanoTime();
+        long[] counts = new long[rootMoves.size()];
+        int workers = Math.max(1, Math.min(threads, rootMoves.size()));
+        if (workers == 1) {
+            Perft p = new Perft(depth);
+            GameState s = root.copy();
+            for (int i = 0; i < rootMoves.size(); i++) counts[i] = p.divideOne(s, rootMoves.get(i), depth);
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+                Thread t = new Thread(r, "Perft");
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                List<Future<?>> jobs = new ArrayList<>();
+                for (int w = 0; w < workers; w++) {
+                    final int first = w;
+                    jobs.add(pool.submit(() -> {
+                        Perft p = new Perft(depth);
+                        GameState s = root.copy();
+                        for (int i = first; i < counts.length; i += workers) counts[i] = p.divideOne(s, rootMoves.get(i), depth);
+                    }));
+                }
+                for (Future<?> f : jobs) f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("perft interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("perft worker failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        long nanos = System.nanoTime() - t0;
+
+        Map<String, Long> divide = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            divide.put(Util.uci(rootMoves.get(i)), counts[i]);
+            total += counts[i];
+        }
+        return new Result(total, nanos, divide);
+    }
+
+    private long divideOne(GameState s, int m, int depth) {
+        GameState.Undo u = undo[depth];
+        s.makeInPlace(m, u);
+        long n = perft(s, depth - 1, 1);
+        s.unmake(u);
+        return n;
+    }
+
+    private long perft(GameState s, int depth, int ply) {
+        if (depth == 0) return 1;
+        MoveList moves = lists[ply];
+        MoveGen.generateAllLegal(s, moves);
+        if (depth == 1) return moves.size();
+        long nodes = 0;
+        GameState.Undo u = undo[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            s.makeInPlace(moves.get(i), u);
+            nodes += perft(s, depth - 1, ply + 1);
+            s.unmake(u);
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (args.length > 0 && args[0].equals("--suite")) {
+            int threads = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+            boolean ok = PerftSuite.runAll(threads, System.out);
+            System.exit(ok ? 0 : 1);
+        }
+
+        String fen = PerftSuite.START;
+        int argi = 0;
+        if (args.length > 0 && args[0].indexOf('/') >= 0) fen = args[argi++];
+        int depth = args.length > argi ? Integer.parseInt(args[argi++]) : 5;
+        int threads = args.length > argi ? Integer.parseInt(args[argi]) : cores;
+
+        Result r = run(fen, depth, threads);
+        r.divide().forEach((mv, n) -> System.out.println(mv + ": " + n));
+        System.out.printf("%nNodes: %,d  Time: %d ms  NPS: %,d  (depth %d, %d threads)%n",
+                r.nodes(), r.millis(), r.nps(), depth, threads);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jaceg18.Gameplay.Perft;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/** Reference positions with published perft counts; the regression gate for move-generator changes. */
+public final class PerftSuite {
+    private PerftSuite() {}
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    public static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    public record Case(String name, String fen, int depth, long expected) {}
+
+    public static final List<Case> CASES = List.of(
+            new Case("startpos", START, 5, 4_865_609L),
+            new Case("kiwipete", KIWIPETE, 4, 4_085_603L),
+            new Case("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674_624L),
+            new Case("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422_333L),
+            new Case("position 4 mirrored", "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", 4, 422_333L),
+            new Case("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4, 2_103_487L),
+            new Case("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 4, 3_894_594L),
+            new Case("illegal ep (pinned)", "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1_134_888L),
+            new Case("illegal ep (discovered)", "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1_015_133L),
+            new Case("ep gives check", "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 6, 1_440_467L),
+            new Case("short castle gives check", "5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661_072L),
+            new Case("long castle gives check", "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803_711L),
+            new Case("castling rights", "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1_274_206L),
+            new Case("castling prevented", "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", 4, 1_720_476L),
+            new Case("promote out of check", "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3_821_001L),
+            new Case("discovered check", "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1_004_658L),
+            new Case("promote to give check", "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217_342L),
+            new Case("underpromote to check", "8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92_683L),
+            new Case("self stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2_217L),
+            new Case("stalemate and checkmate", "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 7, 567_584L),
+            new Case("stalemate and checkmate 2", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23_527L)
+    );
+
+    /** Runs every case, printing one line each plus a total; returns true when all counts match. */
+    public static boolean runAll(int threads, PrintStream out) {
+        boolean ok = true;
+        long nodes = 0, nanos = 0;
+        for (Case c : CASES) {
+            Perft.Result r = Perft.run(c.fen(), c.depth(), threads);
+            boolean pass = r.nodes() == c.expected();
+            ok &= pass;
+            nodes += r.nodes();
+            nanos += r.nanos();
+            out.printf("%-4s %-26s d=%d  nodes=%,13d  expected=%,13d  %,6d ms  %,12d nps%n",
+                    pass ? "OK" : "FAIL", c.name(), c.depth(), r.nodes(), c.expected(), r.millis(), r.nps());
+        }
+        out.printf("%s  total nodes=%,d  time=%d ms  nps=%,d%n", ok ? "PASS" : "FAIL",
+                nodes, nanos / 1_000_000, nanos > 0 ? nodes * 1_000_000_000L / nanos : 0);
+        return ok;
+    }
+}
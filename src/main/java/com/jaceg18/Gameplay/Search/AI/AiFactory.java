@@ -1,9 +1,12 @@
 package com.jaceg18.Gameplay.Search.AI;
 
-import com.jaceg18.Gameplay.Search.AI.Algorithm.ArrayTranspositionTable;
 import com.jaceg18.Gameplay.Search.AI.Algorithm.DefaultMoveOrderer;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.LazySmpSearch;
 import com.jaceg18.Gameplay.Search.AI.Algorithm.NegamaxAB;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.PackedTranspositionTable;
 import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchAlgorithm;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.TranspositionTable;
+import com.jaceg18.Gameplay.Search.AI.Evaluation.CachedEvaluation;
 import com.jaceg18.Gameplay.Search.AI.Evaluation.EvaluationStrategy;
 import com.jaceg18.Gameplay.Search.SearchConfig;
 import com.jaceg18.Gameplay.Search.SearchEngine;
@@ -11,22 +14,26 @@ import com.jaceg18.Gameplay.Search.SearchEngine;
 import java.util.function.IntConsumer;
 
 public class AiFactory {
+    public static final int DEFAULT_HASH_MB = 16;
+
     public static SearchEngine balanced() {
-        var tt = new ArrayTranspositionTable(1 << 20);
-        var orderer = new DefaultMoveOrderer();
-        var eval = new EvaluationStrategy.Default();
-        var metrics = new SearchMetrics();
-        var depthBox = new MutableInt(8);
+        return parallel(1);
+    }
 
-        SearchAlgorithm algo = new NegamaxAB(
-                new SearchConstants(), tt, orderer, eval, metrics,
-                depthBox::get, depthBox::set
-        );
+    /** Lazy SMP engine; every worker gets its own orderer, eval and metrics and shares one table. */
+    public static SearchEngine parallel(int threads) {
+        TranspositionTable tt = PackedTranspositionTable.ofMegabytes(DEFAULT_HASH_MB);
+        var depthBox = new MutableInt(8);
+        var threadsBox = new MutableInt(Math.max(1, threads));
 
+        NegamaxAB main = worker(tt, depthBox);
+        SearchAlgorithm algo = new LazySmpSearch(main, () -> worker(tt, depthBox), threadsBox::get);
 
         var cfg = new SearchConfig(
                 depthBox::get,
                 (IntConsumer & java.io.Serializable) depthBox::set,
+                threadsBox::get,
+                threadsBox::set,
                 algo
         );
         return new SearchEngine(cfg);
@@ -44,9 +51,17 @@ public class AiFactory {
         return eng;
     }
 
+    private static NegamaxAB worker(TranspositionTable tt, MutableInt depthBox) {
+        var metrics = new SearchMetrics();
+        var eval = new CachedEvaluation(new EvaluationStrategy.Incremental(metrics), metrics);
+        return new NegamaxAB(
+                new SearchConstants(), tt, new DefaultMoveOrderer(), eval, metrics,
+                depthBox::get, depthBox::set
+        );
+    }
 
     static final class MutableInt {
-        private int v;
+        private volatile int v;
         MutableInt(int v){ this.v = v; }
         int get(){ return v; }
         void set(int nv){ v = nv; }
@@ -11,4 +11,22 @@ public interface AiProvider {
     default void setProgressCallback(java.util.function.IntConsumer cb) {}
 
     void setRepetitionCounter(LongToIntFunction o);
+
+    default void setHashSizeMb(int mb) {}
+    default void newGame() {}
+
+    /** Makes the running {@link #pickMove} return its best move so far within milliseconds. */
+    default void stop() {}
+
+    /** Clears a previous {@link #stop()} and any limits; call before starting the next search. */
+    default void clearStop() {}
+
+    /** Marks the next search as a ponder search: its time limit only starts running at {@link #ponderHit()}. */
+    default void startPondering() {}
+
+    /** The opponent played the pondered move; the running ponder search becomes the real one. */
+    default void ponderHit() {}
+
+    /** Reply the last search expects from the opponent, or 0 if it has none. */
+    default int ponderMove() { return 0; }
 }
\ No newline at end of file
@@ -2,11 +2,17 @@ package com.jaceg18.Gameplay.Search.AI.Algorithm;
 
 
 public final class ArrayTranspositionTable implements TranspositionTable {
-    private final Entry[] table;
-    private final int mask;
+    private static final int BYTES_PER_ENTRY = 48;
+
+    private Entry[] table;
+    private int mask;
     private int age = 0;
 
     public ArrayTranspositionTable(int size){
+        allocate(size);
+    }
+
+    private void allocate(int size){
         int cap = 1;
         while (cap < size) cap <<= 1;
         table = new Entry[cap];
@@ -39,6 +45,15 @@ public final class ArrayTranspositionTable implements TranspositionTable {
         }
     }
 
+    @Override public void resize(int mb){
+        if (mb <= 0) throw new IllegalArgumentException("hash size must be positive: " + mb);
+        allocate(Integer.highestOneBit((int) Math.min((long) mb * (1 << 20) / BYTES_PER_ENTRY, 1 << 26)));
+    }
+
+    @Override public void clear(){
+        for (Entry e : table){ e.key = 0L; e.move = 0; e.score = 0; e.depth = 0; e.flag = 0; e.age = 0; }
+    }
+
     @Override public void bumpAge(){ age++; }
     @Override public int age(){ return age; }
 }
@@ -3,8 +3,9 @@ package com.jaceg18.Gameplay.Search.AI.Algorithm;
 
 import com.jaceg18.Gameplay.Search.AI.SearchConstants;
 import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveList;
 
-import java.util.List;
+import java.util.Arrays;
 
 public final class DefaultMoveOrderer implements MoveOrderer {
     private final int[][] killers = new int[SearchConstants.MAX_PLY][2];
@@ -19,29 +20,46 @@ public final class DefaultMoveOrderer implements MoveOrderer {
                 killers[ply][0] = m;
             }
 
-            int side = s.whiteToMove()?1:0;
-            history[side][Util.histIdx(m)] += depth * depth;
+            int side = s.whiteToMove()?0:1;
+            int[] h = history[side];
+            int idx = Util.histIdx(m);
+            h[idx] += depth * depth;
+            if (h[idx] > HISTORY_MAX) for (int i = 0; i < h.length; i++) h[i] >>= 1;
         }
     }
 
+    @Override
+    public void clear(){
+        for (int[] k : killers) Arrays.fill(k, 0);
+        for (int[] h : history) Arrays.fill(h, 0);
+    }
+
+    private static final int HASH_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1 << 30;
+    private static final int BAD_CAPTURE_SCORE = -(1 << 20);
+    private static final int HISTORY_MAX = 1 << 20;
+
+    @Override
+    public int killer(int ply, int slot){ return killers[ply][slot]; }
+
+    @Override
+    public int historyScore(GameState s, int m){ return history[s.whiteToMove()?0:1][Util.histIdx(m)]; }
 
     @Override
-    public void order(GameState s, int ply, int hashMove, boolean inCheck, List<Integer> moves, int depth){
-        moves.sort((a, b) -> {
-            if (a == hashMove && b != hashMove) return -1;
-            if (b == hashMove && a != hashMove) return  1;
-            boolean ac = GameState.isCapture(a), bc = GameState.isCapture(b);
-            if (ac != bc) return ac ? -1 : 1;
-            if (!ac){
-                int pa = 0, pb = 0;
-                if (a == killers[ply][0]) pa += 3_000; else if (a == killers[ply][1]) pa += 2_000;
-                if (b == killers[ply][0]) pb += 3_000; else if (b == killers[ply][1]) pb += 2_000;
-                int side = s.whiteToMove()?0:1;
-                pa += history[side][Util.histIdx(a)];
-                pb += history[side][Util.histIdx(b)];
-                return Integer.compare(pb, pa);
+    public void order(GameState s, int ply, int hashMove, boolean inCheck, MoveList moves, int depth){
+        int side = s.whiteToMove()?0:1;
+        int k0 = killers[ply][0], k1 = killers[ply][1];
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            int sc;
+            if (m == hashMove) sc = HASH_SCORE;
+            else if (GameState.isCapture(m)) sc = (See.ge(s, m, 0) ? CAPTURE_SCORE : BAD_CAPTURE_SCORE) + See.mvvLva(s, m);
+            else {
+                sc = (m == k0) ? 3_000 : (m == k1) ? 2_000 : 0;
+                sc = (int) Math.min(CAPTURE_SCORE - 1L, (long) sc + history[side][Util.histIdx(m)]);
             }
-            return 0;
-        });
+            moves.setScore(i, sc);
+        }
+        moves.sortByScore();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import com.jaceg18.Gameplay.Utility.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongToIntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Lazy SMP: the main {@link NegamaxAB} searches on the caller's thread while helpers search their own
+ * copies of the root on pool threads. Workers only communicate through the shared transposition table;
+ * the main thread's answer is returned and the helpers are stopped as soon as it finishes.
+ */
+public final class LazySmpSearch implements SearchAlgorithm {
+    private final NegamaxAB main;
+    private final Supplier<NegamaxAB> helperFactory;
+    private final IntSupplier threads;
+    private final List<NegamaxAB> helpers = new ArrayList<>();
+    private LongToIntFunction repCounter;
+
+    private final ExecutorService pool = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "search-helper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LazySmpSearch(NegamaxAB main, Supplier<NegamaxAB> helperFactory, IntSupplier threads) {
+        this.main = main;
+        this.helperFactory = helperFactory;
+        this.threads = threads;
+    }
+
+    @Override
+    public int computeBestMove(GameState root, IntConsumer progressCb) {
+        return search(root, null, progressCb);
+    }
+
+    @Override
+    public int computeBestMove(GameState root, TimeManager time, IntConsumer progressCb) {
+        return search(root, time, progressCb);
+    }
+
+    @Override
+    public void setRepetitionCounter(LongToIntFunction f) {
+        repCounter = f;
+        main.setRepetitionCounter(f);
+        for (NegamaxAB h : helpers) h.setRepetitionCounter(f);
+    }
+
+    /** Only the main thread reports; helper lines are not the ones played. */
+    @Override
+    public void setListener(SearchListener listener) {
+        main.setListener(listener);
+    }
+
+    /** Workers share one table, so resizing or clearing it through the main instance covers them all. */
+    @Override
+    public void setHashSizeMb(int mb) {
+        main.setHashSizeMb(mb);
+    }
+
+    @Override
+    public void newGame() {
+        main.newGame();
+        for (NegamaxAB h : helpers) h.clearHeuristics();
+    }
+
+    /** Helpers are stopped by the main search on its way out, so only the main one is controlled. */
+    @Override
+    public SearchControl control() {
+        return main.control();
+    }
+
+    @Override
+    public int[] principalVariation() {
+        return main.principalVariation();
+    }
+
+    private int search(GameState root, TimeManager time, IntConsumer progressCb) {
+        int n = Math.max(1, threads.getAsInt()) - 1;
+        while (helpers.size() < n) {
+            NegamaxAB h = helperFactory.get();
+            h.setHelper(helpers.size() + 1);
+            h.setRepetitionCounter(repCounter);
+            helpers.add(h);
+        }
+
+        List<Future<?>> running = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            NegamaxAB h = helpers.get(i);
+            GameState copy = root.copy();
+            h.control().reset();
+            running.add(pool.submit(() -> h.computeBestMove(copy, null)));
+        }
+
+        try {
+            return time != null ? main.computeBestMove(root, time, progressCb) : main.computeBestMove(root, progressCb);
+        } finally {
+            for (int i = 0; i < n; i++) helpers.get(i).control().stop();
+            for (Future<?> f : running) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception ignore) {
+                }
+            }
+        }
+    }
+}
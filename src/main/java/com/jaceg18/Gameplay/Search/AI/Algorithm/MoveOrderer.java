@@ -1,10 +1,13 @@
 package com.jaceg18.Gameplay.Search.AI.Algorithm;
 
 import com.jaceg18.Gameplay.Utility.GameState;
-
-import java.util.List;
+import com.jaceg18.Gameplay.Utility.MoveList;
 
 public interface MoveOrderer {
     void onCutoff(GameState s, int ply, int move, int depth);
-    void order(GameState s, int ply, int hashMove, boolean inCheck, List<Integer> moves, int depth);
-}
\ No newline at end of file
+    void order(GameState s, int ply, int hashMove, boolean inCheck, MoveList moves, int depth);
+    void clear();
+
+    int killer(int ply, int slot);
+    int historyScore(GameState s, int m);
+}
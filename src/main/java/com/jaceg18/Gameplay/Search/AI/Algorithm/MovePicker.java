@@ -0,0 +1,118 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveGen;
+import com.jaceg18.Gameplay.Utility.MoveList;
+
+/**
+ * Hands out pseudo-legal moves one at a time in stages: hash move, winning captures (MVV-LVA, SEE
+ * checked on the way out), killers, quiets by history, then losing captures. Each stage generates and
+ * scores its moves only when reached, and picks the best remaining move by selection instead of sorting,
+ * so a node that cuts off on the hash move or the first capture never generates its quiets at all.
+ * One instance per ply, reused.
+ */
+final class MovePicker {
+    private static final int TT = 0, GEN_CAPTURES = 1, GOOD_CAPTURES = 2, KILLER_1 = 3, KILLER_2 = 4,
+            GEN_QUIETS = 5, QUIETS = 6, BAD_CAPTURES = 7, DONE = 8;
+
+    private final MoveList captures = new MoveList();
+    private final MoveList badCaptures = new MoveList();
+    private final MoveList quiets = new MoveList();
+
+    private GameState s;
+    private MoveOrderer orderer;
+    private int ttMove, killer1, killer2;
+    private int stage, cursor;
+
+    void init(GameState s, MoveOrderer orderer, int ply, int ttMove) {
+        this.s = s;
+        this.orderer = orderer;
+        this.ttMove = MoveGen.isPseudoLegal(s, ttMove) ? ttMove : 0;
+        this.killer1 = orderer.killer(ply, 0);
+        this.killer2 = orderer.killer(ply, 1);
+        this.stage = TT;
+    }
+
+    /** Next move to try, or 0 when every stage is exhausted. */
+    int next() {
+        while (true) {
+            switch (stage) {
+                case TT -> {
+                    stage = GEN_CAPTURES;
+                    if (ttMove != 0) return ttMove;
+                }
+                case GEN_CAPTURES -> {
+                    captures.clear();
+                    badCaptures.clear();
+                    MoveGen.generate(s, s.whiteToMove(), captures, MoveGen.TACTICAL);
+                    for (int i = 0; i < captures.size(); i++) captures.setScore(i, See.mvvLva(s, captures.get(i)));
+                    cursor = 0;
+                    stage = GOOD_CAPTURES;
+                }
+                case GOOD_CAPTURES -> {
+                    while (cursor < captures.size()) {
+                        int m = pickBest(captures, cursor++);
+                        if (m == ttMove) continue;
+                        if (!See.ge(s, m, 0)) {
+                            badCaptures.add(m);
+                            continue;
+                        }
+                        return m;
+                    }
+                    stage = KILLER_1;
+                }
+                case KILLER_1 -> {
+                    stage = KILLER_2;
+                    if (usableKiller(killer1)) return killer1;
+                    killer1 = 0;
+                }
+                case KILLER_2 -> {
+                    stage = GEN_QUIETS;
+                    if (killer2 != killer1 && usableKiller(killer2)) return killer2;
+                    killer2 = 0;
+                }
+                case GEN_QUIETS -> {
+                    quiets.clear();
+                    MoveGen.generate(s, s.whiteToMove(), quiets, MoveGen.QUIETS);
+                    for (int i = 0; i < quiets.size(); i++) quiets.setScore(i, orderer.historyScore(s, quiets.get(i)));
+                    cursor = 0;
+                    stage = QUIETS;
+                }
+                case QUIETS -> {
+                    while (cursor < quiets.size()) {
+                        int m = pickBest(quiets, cursor++);
+                        if (m == ttMove || m == killer1 || m == killer2) continue;
+                        return m;
+                    }
+                    cursor = 0;
+                    stage = BAD_CAPTURES;
+                }
+                case BAD_CAPTURES -> {
+                    if (cursor < badCaptures.size()) return badCaptures.get(cursor++);
+                    stage = DONE;
+                }
+                default -> {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private boolean usableKiller(int k) {
+        return k != 0 && k != ttMove && Util.isQuiet(k) && MoveGen.isPseudoLegal(s, k);
+    }
+
+    /** Swaps the highest-scored move at or after {@code from} into {@code from} and returns it. */
+    private static int pickBest(MoveList list, int from) {
+        int best = from;
+        for (int i = from + 1; i < list.size(); i++) {
+            if (list.score(i) > list.score(best)) best = i;
+        }
+        int m = list.get(best), sc = list.score(best);
+        list.set(best, list.get(from));
+        list.setScore(best, list.score(from));
+        list.set(from, m);
+        list.setScore(from, sc);
+        return m;
+    }
+}
@@ -5,11 +5,10 @@ import com.jaceg18.Gameplay.Search.AI.SearchConstants;
 import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
 import com.jaceg18.Gameplay.TB.FenUtil;
 import com.jaceg18.Gameplay.TB.TablebaseClient;
-import com.jaceg18.Gameplay.UI.ChessBoardPanel;
-import com.jaceg18.Gameplay.Utility.Attacks;
+import com.jaceg18.Gameplay.Utility.AttackInfo;
 import com.jaceg18.Gameplay.Utility.GameState;
 import com.jaceg18.Gameplay.Utility.MoveGen;
-import com.jaceg18.Gameplay.Zobrist;
+import com.jaceg18.Gameplay.Utility.MoveList;
 import jdk.jfr.Experimental;
 
 import java.util.List;
@@ -35,16 +34,40 @@ public final class NegamaxAB implements SearchAlgorithm {
     @Experimental private static final int LMP_D1_LIMIT     = 8;
     @Experimental private static final int LMP_D2_LIMIT     = 12;
 
+    @Experimental private static final int DELTA_MARGIN     = 200;
+    @Experimental private static final int SEE_PRUNE_DEPTH  = 3;
+    @Experimental private static final int SEE_CAPTURE_MARGIN = 100;
+    @Experimental private static final int NULL_MIN_DEPTH    = 3;
+    @Experimental private static final int NULL_VERIFY_DEPTH = 10;
+
     private final GameState.Undo[] undo = new GameState.Undo[SearchConstants.MAX_PLY];
     private final TranspositionTable.ProbeOut[] probeOutByPly = new TranspositionTable.ProbeOut[SearchConstants.MAX_PLY];
+    private final MoveList[] movesByPly = new MoveList[SearchConstants.MAX_PLY];
+    private final MovePicker[] pickersByPly = new MovePicker[SearchConstants.MAX_PLY];
+    private final TranspositionTable.ProbeOut rootProbe = new TranspositionTable.ProbeOut();
 
     private final long[] pathKeys = new long[SearchConstants.MAX_PLY];
+    private final boolean[] afterNull = new boolean[SearchConstants.MAX_PLY];
+
+    private final int[][] pvTable = new int[SearchConstants.MAX_PLY][SearchConstants.MAX_PLY];
+    private final int[] pvLength = new int[SearchConstants.MAX_PLY];
+    private final int[] prevPv = new int[SearchConstants.MAX_PLY];
+    private int prevPvLength = 0;
+    private final boolean[] onPrevPv = new boolean[SearchConstants.MAX_PLY];
+    private SearchListener listener = SearchListener.NONE;
+    private int selDepth;
+    private final boolean[] nullBanned = new boolean[SearchConstants.MAX_PLY];
     private int floorPly = 0;
 
 
 
-    private long moveDeadlineNanos = Long.MAX_VALUE;
-    private boolean timeLimited = false;
+    private final SearchControl control = new SearchControl();
+    private TimeManager time;
+    /** Best root move of the unfinished iteration once it has beaten the window; played if time runs out. */
+    private int rootPartialMove, rootPartialScore;
+
+    private boolean helper = false;
+    private int helperId = 0;
 
 
     private static final class TimeUp extends RuntimeException {
@@ -53,7 +76,20 @@ public final class NegamaxAB implements SearchAlgorithm {
     private static final TimeUp TIME_UP = new TimeUp();
 
     private void checkTime() {
-        if (timeLimited && System.nanoTime() >= moveDeadlineNanos) throw TIME_UP;
+        if (control.shouldStop(metrics.nodes)) throw TIME_UP;
+    }
+
+    @Override public SearchControl control() { return control; }
+
+    @Override public int[] principalVariation() { return java.util.Arrays.copyOf(prevPv, prevPvLength); }
+
+    /**
+     * Turns this instance into a Lazy SMP helper: it shares the table but never ages it, never probes the
+     * tablebase, logs nothing, and odd-numbered helpers start one ply deeper to desynchronise from the main thread.
+     */
+    void setHelper(int id) {
+        this.helper = true;
+        this.helperId = id;
     }
 
     public NegamaxAB(
@@ -72,26 +108,24 @@ public final class NegamaxAB implements SearchAlgorithm {
         this.maxDepthSupplier = maxDepthSupplier;
         for (int i = 0; i < undo.length; i++) undo[i] = new GameState.Undo();
         for (int i = 0; i < probeOutByPly.length; i++) probeOutByPly[i] = new TranspositionTable.ProbeOut();
+        for (int i = 0; i < movesByPly.length; i++) movesByPly[i] = new MoveList();
+        for (int i = 0; i < pickersByPly.length; i++) pickersByPly[i] = new MovePicker();
     }
 
     @Override
     public int computeBestMove(GameState root, IntConsumer progress) {
-       timeLimited = false;
-       moveDeadlineNanos = Long.MAX_VALUE;
-       return computeBestMove(root, null, progress);
-
+       return search(root, progress);
     }
 
     @Override
-    public int computeBestMove(GameState root, int timeMs, IntConsumer progress) {
-
-      timeLimited = timeMs > 0;
-      moveDeadlineNanos = System.nanoTime() + Math.max(1, timeMs) * 1_000_000L;
+    public int computeBestMove(GameState root, TimeManager time, IntConsumer progress) {
+      this.time = time;
+      control.setTimeLimitMs(time.hardMs());
       try {
-          return computeBestMove(root, null, progress);
+          return search(root, progress);
       } finally {
-          timeLimited = false;
-          moveDeadlineNanos = Long.MAX_VALUE;
+          this.time = null;
+          control.clearDeadline();
       }
     }
 
@@ -102,19 +136,46 @@ public final class NegamaxAB implements SearchAlgorithm {
         this.repBase = (f != null) ? f : (k -> 0);
     }
 
+    @Override
+    public void setHashSizeMb(int mb) {
+        tt.resize(mb);
+    }
+
+    @Override
+    public void setListener(SearchListener listener) {
+        this.listener = (listener != null) ? listener : SearchListener.NONE;
+    }
+
+    @Override
+    public void newGame() {
+        tt.clear();
+        orderer.clear();
+    }
+
+    void clearHeuristics() {
+        orderer.clear();
+    }
+
     private int repetitionScoreForUs(int standForUs) {
         return (standForUs <= -TAKE_DRAW_IF_WORSE) ? +REP_TAKE_BONUS : -REP_AVOID_PENALTY;
     }
 
     public int computeBestMove(GameState root, List<Integer> history, IntConsumer progress) {
+        return search(root, progress);
+    }
+
+    private int search(GameState root, IntConsumer progress) {
         if (progress != null) progress.accept(0);
         metrics.reset();
-        tt.bumpAge();
-        try {
+        if (!helper) {
+            tt.bumpAge();
+            tt.resetStats();
+        }
+        if (!helper) try {
             int pieces = Long.bitCount(root.allPieces());
             if (pieces <= 7) {
                 String fen = FenUtil.toFEN(root);
-                long z = Zobrist.compute(root);
+                long z = root.hash();
                 var tb = TablebaseClient.probe(z, fen);
                 if (tb != null && tb.hasMove()) {
                     int tbMove = findMoveByUci(root, tb.bestUci);
@@ -122,10 +183,10 @@ public final class NegamaxAB implements SearchAlgorithm {
                         if (tb.isMateAvailable()) {
                             int mi = Math.abs(tb.dtm);
                             String side = root.whiteToMove() ? "White" : "Black";
-                            ChessBoardPanel.console.logInfo("TB: Mate in " + mi + " (" + side + "), Best=" + tb.bestUci);
+                            info("TB: Mate in " + mi + " (" + side + "), Best=" + tb.bestUci);
                         } else {
                             String dtzTxt = (tb.dtz != null) ? (", DTZ " + tb.dtz) : "";
-                            ChessBoardPanel.console.logInfo("TB: " + tb.category + dtzTxt + ", Best=" + tb.bestUci);
+                            info("TB: " + tb.category + dtzTxt + ", Best=" + tb.bestUci);
                         }
                         if (progress != null) progress.accept(100);
                         return tbMove;
@@ -133,7 +194,7 @@ public final class NegamaxAB implements SearchAlgorithm {
                 }
             }
         } catch (Throwable t) {
-            ChessBoardPanel.console.logWarn("TB probe failed (searching): " + t.getMessage());
+            listener.onWarning("TB probe failed (searching): " + t.getMessage());
         }
 
         int bestMove = -1, bestScore = -SearchConstants.INF;
@@ -141,35 +202,41 @@ public final class NegamaxAB implements SearchAlgorithm {
         int maxDepth = maxDepthSupplier.getAsInt();
         int prevScore = 0;
 
-        pathKeys[0] = Zobrist.compute(root);
+        pathKeys[0] = root.hash();
         floorPly = 0;
+        prevPvLength = 0;
 
         int baseAtRoot = repBase.applyAsInt(pathKeys[0]);
         if (baseAtRoot >= 3) {
-            ChessBoardPanel.console.logInfo("Draw by threefold (root).");
+            info("Draw by threefold (root).");
             if (progress != null) progress.accept(100);
             return -1;
         }
 
+        int iterDepth = 0;
         try {
-            for (int depth = 1; depth <= maxDepth; depth++) {
+            int startDepth = (helper && (helperId & 1) == 1) ? Math.min(2, maxDepth) : 1;
+            for (int depth = startDepth; depth <= maxDepth; depth++) {
                 checkTime();
 
-                long ds = System.nanoTime();
-                long ns = metrics.nodes;
+                iterDepth = depth;
+                selDepth = 0;
+                rootPartialMove = 0;
 
-                List<Integer> moves = MoveGen.generateAllLegal(root);
+                MoveList moves = movesByPly[0];
+                MoveGen.generateAllLegal(root, moves);
                 if (moves.isEmpty()) {
-                    bestScore = Attacks.isInCheck(root, root.whiteToMove()) ? (-SearchConstants.MATE) : 0;
+                    bestScore = root.attacks().inCheck() ? (-SearchConstants.MATE) : 0;
                     bestMove = -1;
-                    logIter(depth, bestScore, metrics.nodes - ns, (System.nanoTime() - ds) / 1_000_000, -1);
+                    report(depth, bestScore, t0);
                     break;
                 }
 
                 long rootKey = pathKeys[0];
-                var pout = new TranspositionTable.ProbeOut();
+                var pout = rootProbe;
                 int hashMove = tt.probe(rootKey, depth, -SearchConstants.INF, +SearchConstants.INF, pout) ? pout.move : 0;
-                boolean inCheckRoot = Attacks.isInCheck(root, root.whiteToMove());
+                if (prevPvLength > 0) hashMove = prevPv[0];
+                boolean inCheckRoot = root.attacks().inCheck();
                 orderer.order(root, 0, hashMove, inCheckRoot, moves, depth);
                 final int WINDOW = 50;
                 int alpha0 = Math.max(-SearchConstants.INF, prevScore - WINDOW);
@@ -178,6 +245,7 @@ public final class NegamaxAB implements SearchAlgorithm {
                 checkTime();
 
                 RootResult rr = searchRootOnce(root, moves, depth, alpha0, beta0, maxDepth, progress);
+                boolean failedLow = rr.failedLow;
                 if (rr.failedLow || rr.failedHigh) {
                     checkTime();
                     int W2 = 200;
@@ -192,6 +260,9 @@ public final class NegamaxAB implements SearchAlgorithm {
                 bestMove = rr.bestMove;
                 bestScore = rr.bestScore;
                 prevScore = bestScore;
+                prevPvLength = pvLength[0];
+                System.arraycopy(pvTable[0], 0, prevPv, 0, prevPvLength);
+                report(depth, bestScore, t0);
 
                 tt.store(rootKey, depth, TranspositionTable.EXACT, Util.toTTScore(bestScore, 0), bestMove, tt.age());
 
@@ -200,32 +271,49 @@ public final class NegamaxAB implements SearchAlgorithm {
                 if (Util.isMateScore(bestScore) && bestScore > 0) {
                     int mi = mateMovesFromScore(bestScore);
                     String side = root.whiteToMove() ? "White" : "Black";
-                    ChessBoardPanel.console.logInfo("Forced mate in " + mi + " (" + side + ")");
+                    info("Forced mate in " + mi + " (" + side + ")");
                     break;
                 }
 
-                logIter(depth, bestScore, metrics.nodes - ns, (System.nanoTime() - ds) / 1_000_000, bestMove);
+                if (time != null) {
+                    long elapsed = (System.nanoTime() - t0) / 1_000_000;
+                    time.iterationDone(bestMove, bestScore, failedLow, elapsed);
+                    if (!control.isPondering() && !time.canStartIteration(elapsed)) break;
+                }
             }
         } catch (TimeUp ignore) {
+            if (rootPartialMove != 0) {
+                bestMove = rootPartialMove;
+                bestScore = rootPartialScore;
+                if (pvLength[0] > 0 && pvTable[0][0] == bestMove) {
+                    prevPvLength = pvLength[0];
+                    System.arraycopy(pvTable[0], 0, prevPv, 0, prevPvLength);
+                } else {
+                    prevPv[0] = bestMove;
+                    prevPvLength = 1;
+                }
+                report(iterDepth, bestScore, t0);
+            }
         }
 
         long totalMs = (System.nanoTime() - t0) / 1_000_000;
 
-        if (Util.isMateScore(bestScore)) {
+        if (Util.isMateScore(bestScore) && Math.abs(bestScore) < SearchConstants.INF) {
             int mi = mateMovesFromScore(bestScore);
             String side = root.whiteToMove() ? "White" : "Black";
-            ChessBoardPanel.console.logInfo("Mate in " + mi + " (" + side + "), Best=" + Util.uci(bestMove));
+            info("Mate in " + mi + " (" + side + "), Best=" + Util.uci(bestMove));
         } else {
-            ChessBoardPanel.console.logInfo("Best=" + Util.uci(bestMove) + ", Score=" + Util.scoreStr(bestScore)
+            info("Best=" + Util.uci(bestMove) + ", Score=" + Util.scoreStr(bestScore)
                     + ", Time(Sec)=" + (double) totalMs / 1000L);
         }
+        if (!helper) listener.onBestMove(bestMove, bestScore, totalMs);
 
         if (progress != null) progress.accept(100);
         return bestMove;
     }
 
     private RootResult searchRootOnce(GameState root,
-                                      List<Integer> moves,
+                                      MoveList moves,
                                       int depth,
                                       int alphaInit,
                                       int betaInit,
@@ -233,16 +321,19 @@ public final class NegamaxAB implements SearchAlgorithm {
                                       IntConsumer progress) {
         final int ROOT_AVOID_REP_MARGIN = 80;
         int alpha = alphaInit;
-        int iterBestMove = moves.getFirst();
+        int iterBestMove = moves.get(0);
         int iterBestScore = -SearchConstants.INF;
 
         int done = 0, total = Math.max(1, moves.size());
         final int rootPly = 0;
         final long rootKey = pathKeys[0];
         boolean iterBestIsRep = false;
+        pvLength[0] = 0;
 
-        for (int m : moves) {
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
             checkTime();
+            if (!helper) listener.onCurrentMove(depth, m, i + 1);
 
             GameState.Undo u = undo[rootPly];
             boolean isCapture = GameState.isCapture(m);
@@ -251,7 +342,7 @@ public final class NegamaxAB implements SearchAlgorithm {
 
             root.makeInPlace(m, u);
             int childPly = rootPly + 1;
-            pathKeys[childPly] = Zobrist.compute(root);
+            pathKeys[childPly] = root.hash();
 
             int savedFloor = floorPly;
             if (irreversible) floorPly = childPly;
@@ -259,17 +350,20 @@ public final class NegamaxAB implements SearchAlgorithm {
             boolean childIsRep3 = isThreefold(childPly);
             boolean childIsImmediateBack = false;
             if (!irreversible && depth <= 2) {
-                var replies = MoveGen.generateAllLegal(root);
+                MoveList replies = movesByPly[childPly];
+                MoveGen.generateAllLegal(root, replies);
                 GameState.Undo u2 = undo[childPly];
-                for (int r : replies) {
-                    root.makeInPlace(r, u2);
-                    long k = Zobrist.compute(root);
+                for (int j = 0; j < replies.size(); j++) {
+                    root.makeInPlace(replies.get(j), u2);
+                    long k = root.hash();
                     root.unmake(u2);
                     if (k == rootKey) { childIsImmediateBack = true; break; }
                 }
             }
 
             boolean childIsRepSoft = childIsRep3 || childIsImmediateBack;
+            onPrevPv[childPly] = prevPvLength > 0 && m == prevPv[0];
+            pvLength[childPly] = childPly;
 
             int sc;
             if (childIsRep3) {
@@ -290,8 +384,13 @@ public final class NegamaxAB implements SearchAlgorithm {
                 iterBestScore = sc;
                 iterBestMove  = m;
                 iterBestIsRep = childIsRepSoft;
+                updatePv(rootPly, m);
             }
             if (iterBestScore > alpha) alpha = iterBestScore;
+            if (iterBestMove == m && iterBestScore > alphaInit) {
+                rootPartialMove = m;
+                rootPartialScore = iterBestScore;
+            }
 
             done++;
             if (progress != null) {
@@ -302,7 +401,8 @@ public final class NegamaxAB implements SearchAlgorithm {
 
             if (Util.isMateScore(sc) && sc > 0) {
                 int mi = mateMovesFromScore(sc);
-                ChessBoardPanel.console.logInfo("Mate in " + mi + " found at depth " + depth);
+                info("Mate in " + mi + " found at depth " + depth);
+                if (iterBestMove != m) updatePv(rootPly, m);
                 iterBestScore = sc;
                 iterBestMove  = m;
                 break;
@@ -343,6 +443,8 @@ public final class NegamaxAB implements SearchAlgorithm {
 
     private int negamax(GameState s, int depth, int alpha, int beta, int ply) {
         metrics.nodes++;
+        pvLength[ply] = ply;
+        if (ply > selDepth) selDepth = ply;
         if ((metrics.nodes & 0x3FF) == 0) checkTime();
 
         if (alpha < -SearchConstants.MATE + SearchConstants.MAX_PLY)
@@ -351,7 +453,7 @@ public final class NegamaxAB implements SearchAlgorithm {
             beta = SearchConstants.MATE - SearchConstants.MAX_PLY;
         if (alpha >= beta) return alpha;
 
-        long key = Zobrist.compute(s);
+        long key = s.hash();
         pathKeys[ply] = key;
 
         if (isThreefold(ply)) {
@@ -365,7 +467,8 @@ public final class NegamaxAB implements SearchAlgorithm {
         if (tt.probe(key, depth, alpha, beta, out)) {
             return Util.fromTTScore(out.score, ply);
         }
-        boolean inCheck = Attacks.isInCheck(s, s.whiteToMove());
+        AttackInfo ai = s.attacks();
+        boolean inCheck = ai.inCheck();
         if (!inCheck && depth == 1) {
             int stand = eval.evalSTM(s);
             if (stand + FUT_MARGIN <= alpha) {
@@ -373,27 +476,58 @@ public final class NegamaxAB implements SearchAlgorithm {
             }
         }
 
-        if (depth == 0 || ply >= SearchConstants.MAX_PLY) {
+        if (ply >= SearchConstants.MAX_PLY - 1) {
             return eval.evalSTM(s);
         }
+        if (depth == 0) {
+            return quiesce(s, alpha, beta, ply);
+        }
 
-        List<Integer> moves = MoveGen.generateAllLegal(s);
-        if (moves.isEmpty()) {
-            int score = Attacks.isInCheck(s, s.whiteToMove())
-                    ? (-SearchConstants.MATE + ply)
-                    : 0;
-            tt.store(key, depth, TranspositionTable.EXACT, Util.toTTScore(score, ply), 0, tt.age());
-            return score;
+        if (!inCheck && depth >= NULL_MIN_DEPTH && !afterNull[ply] && !nullBanned[ply]
+                && beta < SearchConstants.MATE - SearchConstants.MAX_PLY && hasPieces(s, s.whiteToMove())
+                && eval.evalSTM(s) >= beta) {
+            int r = 2 + depth / 6;
+            int nullDepth = Math.max(0, depth - 1 - r);
+            var u = undo[ply];
+            s.makeNullInPlace(u);
+            int nextPly = ply + 1;
+            pathKeys[nextPly] = s.hash();
+            int savedFloor = floorPly;
+            floorPly = nextPly;
+            afterNull[nextPly] = true;
+            onPrevPv[nextPly] = false;
+            int sc;
+            try {
+                sc = -negamax(s, nullDepth, -beta, -beta + 1, nextPly);
+            } finally {
+                afterNull[nextPly] = false;
+            }
+            floorPly = savedFloor;
+            s.unmakeNull(u);
+
+            if (sc >= beta) {
+                if (Util.isMateScore(sc)) sc = beta;
+                if (depth < NULL_VERIFY_DEPTH) return sc;
+                nullBanned[ply] = true;
+                int v;
+                try {
+                    v = negamax(s, nullDepth, beta - 1, beta, ply);
+                } finally {
+                    nullBanned[ply] = false;
+                }
+                if (v >= beta) return sc;
+            }
         }
 
         int a0 = alpha, best = -SearchConstants.INF, bestMove = 0;
-        int hashMove = out.move;
-
-        orderer.order(s, ply, hashMove, inCheck, moves, depth);
+        MovePicker picker = pickersByPly[ply];
+        boolean pvFollow = onPrevPv[ply] && ply < prevPvLength;
+        picker.init(s, orderer, ply, (pvFollow && out.move == 0) ? prevPv[ply] : out.move);
 
         int moveNum = 0;
         int standOnce = Integer.MIN_VALUE;
-        for (int m : moves) {
+        for (int m; (m = picker.next()) != 0; ) {
+            if (!MoveGen.isLegal(s, m, ai)) continue;
             moveNum++;
 
             boolean isCapture = GameState.isCapture(m);
@@ -412,11 +546,17 @@ public final class NegamaxAB implements SearchAlgorithm {
                     }
                 }
             }
+            if (!inCheck && isCapture && !isPromo && depth <= SEE_PRUNE_DEPTH && moveNum > 1
+                    && !See.ge(s, m, -SEE_CAPTURE_MARGIN * depth)) {
+                continue;
+            }
 
             var u = undo[ply];
             s.makeInPlace(m, u);
             int nextPly = ply + 1;
-            pathKeys[nextPly] = Zobrist.compute(s);
+            pathKeys[nextPly] = s.hash();
+            onPrevPv[nextPly] = pvFollow && m == prevPv[ply];
+            pvLength[nextPly] = nextPly;
 
             int savedFloor = floorPly;
             if (irreversible) floorPly = nextPly;
@@ -462,6 +602,7 @@ public final class NegamaxAB implements SearchAlgorithm {
             if (sc > best) {
                 best = sc;
                 bestMove = m;
+                if (sc > alpha) updatePv(ply, m);
             }
             if (best > alpha) {
                 alpha = best;
@@ -472,6 +613,12 @@ public final class NegamaxAB implements SearchAlgorithm {
             }
         }
 
+        if (moveNum == 0) {
+            int score = inCheck ? (-SearchConstants.MATE + ply) : 0;
+            tt.store(key, depth, TranspositionTable.EXACT, Util.toTTScore(score, ply), 0, tt.age());
+            return score;
+        }
+
         int flag = (best <= a0) ? TranspositionTable.UPPER : (best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT);
         tt.store(key, depth, flag, Util.toTTScore(best, ply), bestMove, tt.age());
         return best;
@@ -479,6 +626,77 @@ public final class NegamaxAB implements SearchAlgorithm {
 
 
 
+    /**
+     * Captures and promotions only, on top of a stand-pat score; in check every evasion is searched instead.
+     * Captures that cannot lift the stand-pat score to alpha even with a margin are delta-pruned.
+     */
+    private int quiesce(GameState s, int alpha, int beta, int ply) {
+        metrics.qnodes++;
+        pvLength[ply] = ply;
+        if (ply > selDepth) selDepth = ply;
+        AttackInfo ai = s.attacks();
+        boolean inCheck = ai.inCheck();
+        if (ply >= SearchConstants.MAX_PLY - 1) return eval.evalSTM(s);
+
+        int best = -SearchConstants.INF;
+        int stand = 0;
+        if (!inCheck) {
+            stand = eval.evalSTM(s);
+            if (stand >= beta) return stand;
+            if (stand > alpha) alpha = stand;
+            best = stand;
+        }
+
+        MoveList moves = movesByPly[ply];
+        moves.clear();
+        MoveGen.generate(s, s.whiteToMove(), moves, inCheck ? MoveGen.ALL : MoveGen.TACTICAL);
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            moves.setScore(i, See.mvvLva(s, m));
+        }
+        moves.sortByScore();
+
+        int legal = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int m = moves.get(i);
+            if (!MoveGen.isLegal(s, m, ai)) continue;
+            legal++;
+            if (!inCheck && stand + See.gain(s, m) + DELTA_MARGIN <= alpha) continue;
+            if (!inCheck && !See.ge(s, m, 0)) continue;
+
+            var u = undo[ply];
+            s.makeInPlace(m, u);
+            metrics.nodes++;
+            if ((metrics.nodes & 0x3FF) == 0) checkTime();
+            int sc = -quiesce(s, -beta, -alpha, ply + 1);
+            s.unmake(u);
+
+            if (sc > best) {
+                best = sc;
+                if (sc > alpha) {
+                    alpha = sc;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        if (inCheck && legal == 0) return -SearchConstants.MATE + ply;
+        return best;
+    }
+
+    /** Triangular PV: this ply's line becomes {@code m} followed by the child's line. */
+    private void updatePv(int ply, int m) {
+        int[] row = pvTable[ply];
+        row[ply] = m;
+        int len = pvLength[ply + 1];
+        if (len > ply + 1) System.arraycopy(pvTable[ply + 1], ply + 1, row, ply + 1, len - ply - 1);
+        pvLength[ply] = Math.max(len, ply + 1);
+    }
+
+    /** Zugzwang guard: null moves are only tried when the mover has something besides king and pawns. */
+    private static boolean hasPieces(GameState s, boolean white) {
+        return (s.knights(white) | s.bishops(white) | s.rooks(white) | s.queens(white)) != 0;
+    }
+
     private boolean repeatsOnPathAny(int ply) {
         long key = pathKeys[ply];
         int start = Math.max(floorPly, 1);
@@ -496,8 +714,14 @@ public final class NegamaxAB implements SearchAlgorithm {
         return repBase.applyAsInt(key) + occInPath + 1 >= 3;
     }
 
-    private void logIter(int depth, int score, long nodes, long ms, int best) {
-        System.out.printf("Depth %2d: score=%s  nodes=%,d  time=%d ms  nps=%,d  best=%s%n",
-                depth, Util.scoreStr(score), nodes, ms, Util.rate(nodes, ms), Util.uci(best));
+    private void info(String msg) {
+        if (!helper) listener.onMessage(msg);
+    }
+
+    private void report(int depth, int score, long t0) {
+        if (helper) return;
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        listener.onIteration(new SearchInfo(depth, selDepth, score, metrics.nodes, metrics.qnodes, ms, tt.stats(),
+                metrics.pawnHitRate(), metrics.evalHitRate(), java.util.Arrays.copyOf(prevPv, prevPvLength)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Transposition table packed into a flat {@code long[]}: two words per entry, {@code key ^ data} and
+ * {@code data}. A reader accepts an entry only if the words XOR back to its key, so an entry torn by a
+ * concurrent store simply misses and no locking is needed between search threads.
+ * <p>
+ * Entries are grouped into buckets of {@code ways} slots (four slots fill one 64-byte cache line). A
+ * store reuses the slot already holding its key, else an empty one, else evicts the slot with the
+ * lowest {@code depth - AGE_WEIGHT * generationsOld}.
+ * <p>
+ * Data layout (low to high): move 22 bits, score 16 bits (signed), depth 8, flag 2, age 8.
+ * <p>
+ * The bucket index is derived from the array each call reads, so a {@link #resize} racing a probe on
+ * another thread costs a miss rather than an out-of-bounds index.
+ */
+public final class PackedTranspositionTable implements TranspositionTable {
+    private static final int MOVE_BITS = 22, SCORE_SHIFT = 22, DEPTH_SHIFT = 38, FLAG_SHIFT = 46, AGE_SHIFT = 48;
+    private static final int AGE_WEIGHT = 8;
+    private static final int HASHFULL_SAMPLE = 1000;
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int MAX_ENTRIES = 1 << 29;
+    private static final int CLEAR_CHUNK = 1 << 20;
+
+    private volatile long[] table;
+    private final int ways;
+    private volatile int age = 0;
+
+    private final LongAdder probes = new LongAdder(), hits = new LongAdder();
+    private final LongAdder stores = new LongAdder(), collisions = new LongAdder();
+
+    public PackedTranspositionTable(int size) { this(size, 4); }
+
+    /** @param size entries, rounded up to a power of two; @param ways slots per bucket (1, 2 or 4) */
+    public PackedTranspositionTable(int size, int ways) {
+        if (ways != 1 && ways != 2 && ways != 4) throw new IllegalArgumentException("ways must be 1, 2 or 4: " + ways);
+        this.ways = ways;
+        table = allocate(size);
+    }
+
+    /** Table of the largest power-of-two entry count that fits in {@code mb} megabytes. */
+    public static PackedTranspositionTable ofMegabytes(int mb) {
+        var t = new PackedTranspositionTable(1);
+        t.resize(mb);
+        return t;
+    }
+
+    private long[] allocate(int size) {
+        int cap = ways;
+        while (cap < size && cap < MAX_ENTRIES) cap <<= 1;
+        return new long[cap * 2];
+    }
+
+    private int bucket(long key, long[] t) {
+        int buckets = t.length / (2 * ways);
+        return ((int) key & (buckets - 1)) * ways * 2;
+    }
+
+    static long pack(int move, int score, int depth, int flag, int age) {
+        return (move & ((1L << MOVE_BITS) - 1))
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) (flag & 3) << FLAG_SHIFT)
+                | ((long) (age & 0xFF) << AGE_SHIFT);
+    }
+
+    static int move(long d)  { return (int) (d & ((1L << MOVE_BITS) - 1)); }
+    static int score(long d) { return (short) (d >>> SCORE_SHIFT); }
+    static int depth(long d) { return (int) (d >>> DEPTH_SHIFT) & 0xFF; }
+    static int flag(long d)  { return (int) (d >>> FLAG_SHIFT) & 3; }
+    static int age(long d)   { return (int) (d >>> AGE_SHIFT) & 0xFF; }
+
+    @Override public boolean probe(long key, int depth, int alpha, int beta, ProbeOut out) {
+        probes.increment();
+        long[] table = this.table;
+        int b = bucket(key, table);
+        for (int w = 0; w < ways; w++) {
+            int i = b + 2 * w;
+            long data = table[i + 1];
+            if ((table[i] ^ data) != key || data == 0L) continue;
+            hits.increment();
+            out.move = move(data);
+            out.depth = depth(data);
+            out.flag = flag(data);
+            if (out.depth < depth) return false;
+            int sc = score(data);
+            switch (out.flag) {
+                case EXACT: out.score = sc; return true;
+                case LOWER: if (sc >= beta)  { out.score = sc; return true; } break;
+                case UPPER: if (sc <= alpha) { out.score = sc; return true; } break;
+            }
+            return false;
+        }
+        out.move = 0;
+        return false;
+    }
+
+    @Override public void store(long key, int depth, int flag, int score, int move, int ageNow) {
+        if (score < Short.MIN_VALUE || score > Short.MAX_VALUE) return;
+        long[] table = this.table;
+        int b = bucket(key, table);
+        int gen = ageNow & 0xFF;
+        int victim = -1, victimWorth = Integer.MAX_VALUE;
+        for (int w = 0; w < ways; w++) {
+            int i = b + 2 * w;
+            long old = table[i + 1];
+            if (old == 0L) {
+                if (victimWorth > Integer.MIN_VALUE) { victim = i; victimWorth = Integer.MIN_VALUE; }
+                continue;
+            }
+            if ((table[i] ^ old) == key) {
+                if (move == 0) move = move(old);
+                write(table, i, key, move, score, depth, flag, gen);
+                return;
+            }
+            int worth = depth(old) - AGE_WEIGHT * ((gen - age(old)) & 0xFF);
+            if (worth < victimWorth) { victim = i; victimWorth = worth; }
+        }
+        long evicted = table[victim + 1];
+        if (evicted != 0L && age(evicted) == gen) collisions.increment();
+        write(table, victim, key, move, score, depth, flag, gen);
+    }
+
+    private void write(long[] table, int i, long key, int move, int score, int depth, int flag, int gen) {
+        stores.increment();
+        long data = pack(move, score, Math.max(0, Math.min(255, depth)), flag, gen);
+        table[i] = key ^ data;
+        table[i + 1] = data;
+    }
+
+    @Override public void bumpAge() { age++; }
+    @Override public int age() { return age; }
+
+    @Override public void resize(int mb) {
+        if (mb <= 0) throw new IllegalArgumentException("hash size must be positive: " + mb);
+        long entries = (long) mb * (1 << 20) / BYTES_PER_ENTRY;
+        int size = Integer.highestOneBit((int) Math.min(entries, MAX_ENTRIES));
+        if (size * 2 != table.length) table = allocate(size);
+        else clear();
+        resetStats();
+    }
+
+    /** Zeroes the table in 8 MB chunks spread over the common pool. */
+    @Override public void clear() {
+        long[] t = table;
+        int chunks = (t.length + CLEAR_CHUNK - 1) / CLEAR_CHUNK;
+        IntStream.range(0, chunks).parallel()
+                .forEach(c -> Arrays.fill(t, c * CLEAR_CHUNK, Math.min(t.length, (c + 1) * CLEAR_CHUNK), 0L));
+    }
+
+    public int sizeMb() { return (int) ((long) table.length * Long.BYTES >> 20); }
+
+    @Override public Stats stats() {
+        long[] table = this.table;
+        int entries = Math.min(HASHFULL_SAMPLE, table.length / 2);
+        int gen = age & 0xFF, used = 0;
+        for (int e = 0; e < entries; e++) {
+            long data = table[2 * e + 1];
+            if (data != 0L && age(data) == gen) used++;
+        }
+        return new Stats(probes.sum(), hits.sum(), stores.sum(), collisions.sum(), used * 1000 / Math.max(1, entries));
+    }
+
+    @Override public void resetStats() {
+        probes.reset(); hits.reset(); stores.reset(); collisions.reset();
+    }
+}
@@ -8,9 +8,27 @@ import java.util.function.LongToIntFunction;
 public interface SearchAlgorithm {
     int computeBestMove(GameState root, IntConsumer progressCb);
 
-    int computeBestMove(GameState root, int timeMs, IntConsumer progressCb);
+    /** Searches within {@code time}'s limits: aborted at the hard one, no new iteration past the soft one. */
+    int computeBestMove(GameState root, TimeManager time, IntConsumer progressCb);
+
+    default int computeBestMove(GameState root, int timeMs, IntConsumer progressCb) {
+        return timeMs > 0 ? computeBestMove(root, TimeManager.fixed(timeMs), progressCb) : computeBestMove(root, progressCb);
+    }
 
     void setRepetitionCounter(LongToIntFunction f);
 
+    void setHashSizeMb(int mb);
+
+    void setListener(SearchListener listener);
+
+    /** Forgets everything learned from the previous game: table entries, killers and history. */
+    void newGame();
+
+    /** Stop flag, deadline and node limit of the searching thread; safe to drive from any thread. */
+    SearchControl control();
+
+    /** Principal variation of the last search, starting with the move it returned; empty if it found none. */
+    int[] principalVariation();
+
 
 }
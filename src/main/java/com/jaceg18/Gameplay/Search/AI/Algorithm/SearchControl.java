@@ -0,0 +1,65 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cooperative limits for one search, shared between the searching thread and whoever controls it.
+ * The search polls {@link #shouldStop(long)} at every check point (about every thousand nodes), so a
+ * {@link #stop()}, an expired deadline or an exhausted node budget ends it within milliseconds.
+ * <p>
+ * Limits stay in force until {@link #reset()}, which the caller does before starting a search; that way a
+ * stop that arrives before the search thread gets going is not lost. While pondering the deadline is held
+ * back and only starts running at {@link #ponderHit()}.
+ */
+public final class SearchControl {
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private volatile long deadlineNanos = NONE;
+    private volatile long pendingMs;
+    private volatile long nodeLimit = NONE;
+    private volatile boolean pondering;
+
+    /** Clears the stop flag and every limit. */
+    public void reset() {
+        stopped.set(false);
+        deadlineNanos = NONE;
+        pendingMs = 0;
+        nodeLimit = NONE;
+        pondering = false;
+    }
+
+    public void stop() { stopped.set(true); }
+
+    public boolean isStopped() { return stopped.get(); }
+
+    /** Lets the search run {@code ms} more milliseconds from now, or from the ponderhit if still pondering. */
+    public void setTimeLimitMs(long ms) {
+        pendingMs = ms;
+        if (!pondering) deadlineNanos = System.nanoTime() + ms * 1_000_000L;
+    }
+
+    public void clearDeadline() {
+        deadlineNanos = NONE;
+        pendingMs = 0;
+    }
+
+    /** Caps the searching thread's own node count; checked at the same granularity as the clock. */
+    public void setNodeLimit(long nodes) { nodeLimit = nodes > 0 ? nodes : NONE; }
+
+    public void startPondering() { pondering = true; }
+
+    public boolean isPondering() { return pondering; }
+
+    /** The predicted move was played: switch to normal timing with the limit set while pondering. */
+    public void ponderHit() {
+        pondering = false;
+        if (pendingMs > 0) deadlineNanos = System.nanoTime() + pendingMs * 1_000_000L;
+    }
+
+    boolean shouldStop(long nodes) {
+        if (stopped.get() || nodes >= nodeLimit) return true;
+        long d = deadlineNanos;
+        return d != NONE && !pondering && System.nanoTime() >= d;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+/**
+ * Snapshot of one finished iteration. Node counts and time are cumulative since the search started;
+ * {@code pv} begins with the root move and belongs to the receiver.
+ */
+public record SearchInfo(
+        int depth,
+        int seldepth,
+        int score,
+        long nodes,
+        long qnodes,
+        long timeMs,
+        TranspositionTable.Stats table,
+        double pawnHitRate,
+        double evalHitRate,
+        int[] pv
+) {
+    public long nps() { return Util.rate(nodes, timeMs); }
+
+    public int hashfull() { return table.hashfull(); }
+
+    public boolean isMate() { return Util.isMateScore(score); }
+
+    public String pvString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pv.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(Util.uci(pv[i]));
+        }
+        return sb.toString();
+    }
+}
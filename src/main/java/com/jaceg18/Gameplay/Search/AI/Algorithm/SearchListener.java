@@ -0,0 +1,34 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+/**
+ * Telemetry from a running search, delivered on the searching thread. Every callback is a no-op by
+ * default so implementations only override what they consume.
+ */
+public interface SearchListener {
+    SearchListener NONE = new SearchListener() {};
+
+    /** After each completed iteration. */
+    default void onIteration(SearchInfo info) {}
+
+    /** When the root starts on a move; {@code number} counts from 1 within the iteration. */
+    default void onCurrentMove(int depth, int move, int number) {}
+
+    /** Once per search with the move that will be played. */
+    default void onBestMove(int move, int score, long timeMs) {}
+
+    default void onMessage(String message) {}
+
+    default void onWarning(String message) {}
+
+    /** Fans every callback out to each listener in order. */
+    static SearchListener of(SearchListener... listeners) {
+        SearchListener[] ls = listeners.clone();
+        return new SearchListener() {
+            @Override public void onIteration(SearchInfo info) { for (var l : ls) l.onIteration(info); }
+            @Override public void onCurrentMove(int depth, int move, int number) { for (var l : ls) l.onCurrentMove(depth, move, number); }
+            @Override public void onBestMove(int move, int score, long timeMs) { for (var l : ls) l.onBestMove(move, score, timeMs); }
+            @Override public void onMessage(String message) { for (var l : ls) l.onMessage(message); }
+            @Override public void onWarning(String message) { for (var l : ls) l.onWarning(message); }
+        };
+    }
+}
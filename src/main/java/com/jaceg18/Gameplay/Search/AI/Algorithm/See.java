@@ -0,0 +1,87 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import com.jaceg18.Gameplay.Utility.Attacks;
+import com.jaceg18.Gameplay.Utility.BitUtility;
+import com.jaceg18.Gameplay.Utility.GameState;
+
+/**
+ * Static exchange evaluation: whether the capture sequence a move starts on its target square pays off,
+ * each side recapturing with its least valuable attacker and free to stop when that is better.
+ * Sliders hidden behind a piece that has just captured join in as x-rays.
+ */
+public final class See {
+    private See() {}
+
+    /** Exchange values by kind (pawn..king); the king is priced so that no line trades it away. */
+    public static final int[] VALUE = {100, 320, 330, 500, 900, 20_000};
+
+    public static int capturedKind(GameState s, int m) {
+        if (!GameState.isCapture(m)) return -1;
+        return GameState.isEP(m) ? 0 : s.kindAt(GameState.to(m));
+    }
+
+    /** Material the move wins outright: the captured piece plus what a promotion adds over the pawn. */
+    public static int gain(GameState s, int m) {
+        int v = 0;
+        int ck = capturedKind(s, m);
+        if (ck >= 0) v += VALUE[ck];
+        int pk = GameState.promoKind(m);
+        if (pk >= 0) v += VALUE[pk + 1] - VALUE[0];
+        return v;
+    }
+
+    /** Most valuable victim, least valuable attacker; non-captures score by promotion piece alone. */
+    public static int mvvLva(GameState s, int m) {
+        int ck = capturedKind(s, m);
+        return ck >= 0 ? VALUE[ck] * 8 - GameState.moverKind(m) : GameState.promoKind(m);
+    }
+
+    /**
+     * True when the exchange started by {@code m} nets at least {@code threshold} for the mover. Works as a
+     * threshold test rather than building a swap list, so it allocates nothing and stops as soon as the
+     * outcome is decided.
+     */
+    public static boolean ge(GameState s, int m, int threshold) {
+        int from = GameState.from(m), to = GameState.to(m);
+        boolean white = s.whiteToMove();
+
+        int swap = gain(s, m) - threshold;
+        if (swap < 0) return false;
+        int pk = GameState.promoKind(m);
+        swap = VALUE[pk >= 0 ? pk + 1 : GameState.moverKind(m)] - swap;
+        if (swap <= 0) return true;
+
+        long occ = s.allPieces() ^ (1L << from);
+        if (GameState.isEP(m)) occ ^= 1L << (white ? to - 8 : to + 8);
+        long diag = s.bishops(true) | s.bishops(false) | s.queens(true) | s.queens(false);
+        long ortho = s.rooks(true) | s.rooks(false) | s.queens(true) | s.queens(false);
+        long attackers = Attacks.attackersBy(s, to, true, occ) | Attacks.attackersBy(s, to, false, occ);
+
+        boolean side = white;
+        int res = 1;
+        while (true) {
+            side = !side;
+            attackers &= occ;
+            long mine = attackers & (side ? s.whitePieces() : s.blackPieces());
+            if (mine == 0) break;
+            res ^= 1;
+
+            int kind = 0;
+            long bb = 0;
+            for (; kind < 5; kind++) {
+                bb = mine & s.pieces(kind, side);
+                if (bb != 0) break;
+            }
+            if (kind == 5) {
+                long theirs = attackers & (side ? s.blackPieces() : s.whitePieces());
+                return (theirs != 0 ? res ^ 1 : res) != 0;
+            }
+            swap = VALUE[kind] - swap;
+            if (swap < res) break;
+            occ ^= bb & -bb;
+            if (kind == 0 || kind == 2 || kind == 4) attackers |= BitUtility.squaresABishopCouldSlideTo(to, occ) & diag;
+            if (kind == 3 || kind == 4) attackers |= BitUtility.squaresARookCouldSlideTo(to, occ) & ortho;
+        }
+        return res != 0;
+    }
+}
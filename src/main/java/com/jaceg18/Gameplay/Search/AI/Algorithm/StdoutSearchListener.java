@@ -0,0 +1,25 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+import java.io.PrintStream;
+
+/** Plain-text log of iterations and messages, one line each. */
+public final class StdoutSearchListener implements SearchListener {
+    private final PrintStream out;
+
+    public StdoutSearchListener() { this(System.out); }
+
+    public StdoutSearchListener(PrintStream out) { this.out = out; }
+
+    @Override
+    public void onIteration(SearchInfo i) {
+        var ts = i.table();
+        out.printf("Depth %2d/%2d: score=%s  nodes=%,d (q %,d)  time=%d ms  nps=%,d  tt=%.1f%% hit %.1f%% coll hashfull=%d  pawn=%.1f%% eval=%.1f%%  pv=%s%n",
+                i.depth(), i.seldepth(), Util.scoreStr(i.score()), i.nodes(), i.qnodes(), i.timeMs(), i.nps(),
+                ts.hitRate() * 100, ts.collisionRate() * 100, i.hashfull(), i.pawnHitRate() * 100,
+                i.evalHitRate() * 100, i.pvString());
+    }
+
+    @Override public void onMessage(String message) { out.println(message); }
+
+    @Override public void onWarning(String message) { out.println("warning: " + message); }
+}
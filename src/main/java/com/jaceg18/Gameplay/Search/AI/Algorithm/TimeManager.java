@@ -0,0 +1,83 @@
+package com.jaceg18.Gameplay.Search.AI.Algorithm;
+
+/**
+ * Time budget for one move. The hard limit is a deadline the search is aborted at; the soft limit is
+ * checked between iterations and is stretched or shrunk by how settled the search looks: a best move
+ * that keeps changing or a fail-low at the root buys more time, a move that survives several
+ * iterations gives some back. No iteration is started that is not expected to finish before the hard
+ * limit. Create one per search; it keeps per-search state.
+ */
+public final class TimeManager {
+    /** Held back from every clock allocation for GUI and pipe latency. */
+    public static final int MOVE_OVERHEAD_MS = 50;
+    /** Moves the remaining clock is spread over when no moves-to-go is known. */
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int MAX_MOVES_TO_GO = 50;
+
+    private final long softMs, hardMs;
+    private final boolean adaptive;
+
+    private int lastBest;
+    private int lastScore;
+    private int stableIterations;
+    private double bestMoveChanges;
+    private double scale = 1.0;
+    private long lastIterationMs, prevIterationMs, lastElapsedMs;
+
+    private TimeManager(long softMs, long hardMs, boolean adaptive) {
+        this.hardMs = Math.max(1, hardMs);
+        this.softMs = Math.max(1, Math.min(softMs, this.hardMs));
+        this.adaptive = adaptive;
+    }
+
+    /** A fixed budget, as for UCI movetime: no early stop, but still no iteration that cannot finish. */
+    public static TimeManager fixed(long ms) {
+        return new TimeManager(ms, ms, false);
+    }
+
+    /** Budget from the side to move's clock; {@code movesToGo <= 0} means sudden death. */
+    public static TimeManager forClock(long remainingMs, long incMs, int movesToGo) {
+        long avail = Math.max(1, remainingMs - MOVE_OVERHEAD_MS);
+        int mtg = movesToGo > 0 ? Math.min(movesToGo, MAX_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+        long soft = Math.min(avail / mtg + incMs * 3 / 4, avail / 2);
+        long hard = Math.min(soft * 4, avail * 4 / 5);
+        return new TimeManager(soft, hard, true);
+    }
+
+    public long softMs() { return softMs; }
+
+    public long hardMs() { return hardMs; }
+
+    /** Records a completed iteration; {@code elapsedMs} is measured from the start of the search. */
+    void iterationDone(int bestMove, int score, boolean failedLow, long elapsedMs) {
+        prevIterationMs = lastIterationMs;
+        lastIterationMs = elapsedMs - lastElapsedMs;
+        lastElapsedMs = elapsedMs;
+
+        boolean changed = lastBest != 0 && bestMove != lastBest;
+        stableIterations = changed ? 0 : stableIterations + 1;
+        bestMoveChanges = bestMoveChanges / 2 + (changed ? 1 : 0);
+
+        double stability = Math.max(0.6, 1.1 - 0.1 * stableIterations);
+        double s = stability * (1 + 0.6 * bestMoveChanges);
+        if (failedLow) s *= 1.5;
+        else if (lastBest != 0 && score < lastScore - 30) s *= 1.25;
+        scale = s;
+
+        lastBest = bestMove;
+        lastScore = score;
+    }
+
+    /** Whether another iteration is worth starting {@code elapsedMs} into the search. */
+    boolean canStartIteration(long elapsedMs) {
+        if (adaptive && elapsedMs >= Math.min(hardMs, (long) (softMs * scale))) return false;
+        return elapsedMs + predictNextMs() < hardMs;
+    }
+
+    /** Next iteration's cost from the growth of the last two, clamped to a plausible branching factor. */
+    private long predictNextMs() {
+        double growth = prevIterationMs > 0 ? (double) lastIterationMs / prevIterationMs : 2.0;
+        growth = Math.max(1.5, Math.min(4.0, growth));
+        return (long) (lastIterationMs * growth);
+    }
+}
@@ -12,4 +12,17 @@ public interface TranspositionTable {
     boolean probe(long key, int depth, int alpha, int beta, ProbeOut out);
     void store(long key, int depth, int flag, int score, int move, int age);
     void bumpAge(); int age();
+
+    /** Reallocates to about {@code mb} megabytes, dropping every entry; meant for use between searches. */
+    void resize(int mb);
+    void clear();
+
+    /** Counters since the last {@link #resetStats()}; hashfull is the per-mille of sampled slots written this generation. */
+    record Stats(long probes, long hits, long stores, long collisions, int hashfull) {
+        public double hitRate() { return probes == 0 ? 0 : (double) hits / probes; }
+        public double collisionRate() { return stores == 0 ? 0 : (double) collisions / stores; }
+    }
+
+    default Stats stats() { return new Stats(0, 0, 0, 0, 0); }
+    default void resetStats() {}
 }
\ No newline at end of file
@@ -34,12 +34,15 @@ public final class Util {
     }
     static String sq(int i){ return ""+(char)('a'+(i&7))+(char)('1'+(i>>>3)); }
 
+    /** Full moves to mate for a mate score, negative when the side to move is the one being mated. */
+    public static int mateMoves(int sc){
+        int matePly = (sc > 0) ? (SearchConstants.MATE - sc) : (SearchConstants.MATE + sc);
+        int mateMoves = (matePly + 1) / 2;
+        return (sc > 0) ? mateMoves : -mateMoves;
+    }
+
     public static String scoreStr(int sc){
-        if (isMateScore(sc)){
-            int matePly = (sc > 0) ? (SearchConstants.MATE - sc) : (SearchConstants.MATE + sc);
-            int mateMoves = (matePly + 1) / 2;
-            return (sc > 0) ? ("#"+mateMoves) : ("#-"+mateMoves);
-        }
+        if (isMateScore(sc)) return "#" + mateMoves(sc);
         return String.format("%+d", sc);
     }
 }
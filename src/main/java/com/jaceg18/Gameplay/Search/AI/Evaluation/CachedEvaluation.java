@@ -0,0 +1,57 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
+import com.jaceg18.Gameplay.Utility.GameState;
+
+/**
+ * Remembers the last score of every position it has evaluated in a direct-mapped {@code long[]}: the upper
+ * 48 bits of the key and a 16-bit score share one word, so a hit is a single load. Slots are overwritten
+ * freely. Not thread-safe: each search thread wraps its own strategy.
+ * <p>
+ * The Zobrist key does not cover the halfmove clock, which only moves the score once the fifty-move
+ * scaling starts, so from there on the clock is mixed into the key.
+ */
+public final class CachedEvaluation implements EvaluationStrategy {
+    public static final int DEFAULT_MB = 4;
+    private static final int MAX_ENTRIES = 1 << 27;
+    private static final int HALFMOVE_SCALING_START = 80;
+    private static final long HALFMOVE_MIX = 0x9e3779b97f4a7c15L;
+    private static final long KEY_MASK = ~0xFFFFL;
+
+    private final EvaluationStrategy delegate;
+    private final SearchMetrics metrics;
+    private final long[] table;
+    private final int mask;
+
+    public CachedEvaluation(EvaluationStrategy delegate, SearchMetrics metrics) {
+        this(delegate, metrics, DEFAULT_MB);
+    }
+
+    public CachedEvaluation(EvaluationStrategy delegate, SearchMetrics metrics, int mb) {
+        long want = Math.max(1L, ((long) mb << 20) / Long.BYTES);
+        int cap = 1;
+        while ((long) cap << 1 <= want && cap < MAX_ENTRIES) cap <<= 1;
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.table = new long[cap];
+        this.mask = cap - 1;
+    }
+
+    @Override
+    public int evalSTM(GameState s) {
+        long key = s.hash();
+        int hmc = s.halfmoveClock();
+        if (hmc > HALFMOVE_SCALING_START) key ^= hmc * HALFMOVE_MIX;
+
+        int i = (int) key & mask;
+        long e = table[i];
+        metrics.evalProbes++;
+        if (((e ^ key) & KEY_MASK) == 0 && e != 0) {
+            metrics.evalHits++;
+            return (short) e;
+        }
+        int score = delegate.evalSTM(s);
+        if (score == (short) score) table[i] = (key & KEY_MASK) | (score & 0xFFFFL);
+        return score;
+    }
+}
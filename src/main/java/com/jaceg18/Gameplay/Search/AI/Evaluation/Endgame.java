@@ -0,0 +1,74 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+import com.jaceg18.Gameplay.Utility.GameState;
+
+/**
+ * Evaluators for material signatures the generic terms play badly, chosen by {@link MaterialTable}. The
+ * weak side always has a bare king. Scores are from white's point of view; won positions get
+ * {@link #KNOWN_WIN} on top so the search converts rather than drifts.
+ */
+enum Endgame {
+    /** Queen or rook (plus anything) against a bare king: drive the king to the edge and close in. */
+    KXK {
+        @Override int evaluate(GameState s, boolean strongWhite, int material) {
+            int strongK = kingSq(s, strongWhite), weakK = kingSq(s, !strongWhite);
+            int score = KNOWN_WIN + Math.abs(material) + PUSH_TO_EDGE[weakK] + PUSH_CLOSE[distance(strongK, weakK)];
+            return strongWhite ? score : -score;
+        }
+    },
+    /** Bishop and knight: only the corners of the bishop's colour mate, so drive the king towards one. */
+    KBNK {
+        @Override int evaluate(GameState s, boolean strongWhite, int material) {
+            int strongK = kingSq(s, strongWhite), weakK = kingSq(s, !strongWhite);
+            int bishop = Long.numberOfTrailingZeros(s.bishops(strongWhite));
+            boolean darkBishop = ((bishop >>> 3) + (bishop & 7)) % 2 == 0;
+            int corner = darkBishop ? Math.min(manhattan(weakK, 0), manhattan(weakK, 63))
+                    : Math.min(manhattan(weakK, 7), manhattan(weakK, 56));
+            int score = KNOWN_WIN + Math.abs(material) + PUSH_CLOSE[distance(strongK, weakK)]
+                    + (14 - corner) * 30;
+            return strongWhite ? score : -score;
+        }
+    },
+    /** King and pawn: exact from the bitbase; wins are scored by how far the pawn has come. */
+    KPK {
+        @Override int evaluate(GameState s, boolean strongWhite, int material) {
+            int wk = kingSq(s, strongWhite), bk = kingSq(s, !strongWhite);
+            int psq = Long.numberOfTrailingZeros(s.pawns(strongWhite));
+            boolean wtm = s.whiteToMove() == strongWhite;
+            if (!strongWhite) { wk ^= 56; bk ^= 56; psq ^= 56; }
+            if ((psq & 7) > 3) { wk ^= 7; bk ^= 7; psq ^= 7; }
+            if (!KpkBitbase.isWin(wtm, wk, bk, psq)) return 0;
+            int score = KNOWN_WIN + PieceSquare.P + (psq >>> 3) * 20;
+            return strongWhite ? score : -score;
+        }
+    };
+
+    static final int KNOWN_WIN = 10_000;
+
+    /** Bonus for the weak king's square: highest in the corners, zero in the centre. */
+    private static final int[] PUSH_TO_EDGE = new int[64];
+    /** Bonus for the distance between the kings, indexed 0..7. */
+    private static final int[] PUSH_CLOSE = {0, 0, 100, 80, 60, 40, 20, 10};
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            int f = sq & 7, r = sq >>> 3;
+            PUSH_TO_EDGE[sq] = 20 * ((3 - Math.min(f, 7 - f)) + (3 - Math.min(r, 7 - r)));
+        }
+    }
+
+    /** @param material the material balance, white's point of view */
+    abstract int evaluate(GameState s, boolean strongWhite, int material);
+
+    private static int kingSq(GameState s, boolean white) {
+        return Long.numberOfTrailingZeros(s.king(white));
+    }
+
+    private static int distance(int a, int b) {
+        return Math.max(Math.abs((a & 7) - (b & 7)), Math.abs((a >>> 3) - (b >>> 3)));
+    }
+
+    private static int manhattan(int a, int b) {
+        return Math.abs((a & 7) - (b & 7)) + Math.abs((a >>> 3) - (b >>> 3));
+    }
+}
@@ -1,5 +1,6 @@
 package com.jaceg18.Gameplay.Search.AI.Evaluation;
 
+import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
 import com.jaceg18.Gameplay.Utility.GameState;
 
 public interface EvaluationStrategy {
@@ -11,4 +12,23 @@ public interface EvaluationStrategy {
             return s.whiteToMove() ? whitePOV : -whitePOV;
         }
     }
+
+    /**
+     * Same scores as {@link Default}, with material and piece-square terms taken from the position's running
+     * sums and pawn terms from a private pawn hash, whose hit rate is counted in the given metrics.
+     */
+    final class Incremental implements EvaluationStrategy {
+        private final PawnHashTable pawns;
+
+        public Incremental() { this(new SearchMetrics()); }
+
+        public Incremental(SearchMetrics metrics) { this(metrics, PawnHashTable.DEFAULT_MB); }
+
+        public Incremental(SearchMetrics metrics, int pawnHashMb) { pawns = new PawnHashTable(pawnHashMb, metrics); }
+
+        @Override public int evalSTM(GameState s) {
+            int whitePOV = Eval.evaluateIncremental(s, pawns);
+            return s.whiteToMove() ? whitePOV : -whitePOV;
+        }
+    }
 }
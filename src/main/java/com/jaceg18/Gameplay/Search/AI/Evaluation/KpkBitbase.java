@@ -0,0 +1,113 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+import com.jaceg18.Gameplay.Utility.BitUtility;
+
+/**
+ * Exact win/draw table for king and pawn against king, built by retrograde iteration when the class loads
+ * (a few milliseconds, 24 KB). Positions are stored with the pawn white and on files a-d; {@link #isWin}
+ * takes that normalised form.
+ */
+final class KpkBitbase {
+    private static final int PAWN_SQUARES = 24;
+    private static final int SIZE = PAWN_SQUARES * 2 * 64 * 64;
+
+    private static final byte INVALID = 0, UNKNOWN = 1, DRAW = 2, WIN = 3;
+
+    private static final long[] WINS = new long[SIZE / 64];
+
+    static {
+        byte[] db = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) db[i] = classify(i);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < SIZE; i++) {
+                if (db[i] != UNKNOWN) continue;
+                byte r = resolve(db, i);
+                if (r != UNKNOWN) { db[i] = r; changed = true; }
+            }
+        }
+        for (int i = 0; i < SIZE; i++) if (db[i] == WIN) WINS[i >>> 6] |= 1L << i;
+    }
+
+    private KpkBitbase() {}
+
+    /** Whether white wins with the pawn on {@code psq} (files a-d, ranks 2-7). */
+    static boolean isWin(boolean whiteToMove, int wk, int bk, int psq) {
+        int i = index(whiteToMove, wk, bk, psq);
+        return (WINS[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static int index(boolean whiteToMove, int wk, int bk, int psq) {
+        int p = (psq & 7) * 6 + (psq >>> 3) - 1;
+        return ((p * 2 + (whiteToMove ? 0 : 1)) * 64 + wk) * 64 + bk;
+    }
+
+    private static int pawnSquare(int i) {
+        int p = i >>> 13;
+        return (p % 6 + 1) * 8 + p / 6;
+    }
+
+    private static byte classify(int i) {
+        int bk = i & 63, wk = (i >>> 6) & 63, psq = pawnSquare(i);
+        boolean wtm = ((i >>> 12) & 1) == 0;
+        long pawnAttacks = BitUtility.WHITE_PAWN_ATTACKS[psq];
+        long wkAttacks = BitUtility.KING_ATTACKS[wk];
+
+        if (wk == bk || wk == psq || bk == psq || (wkAttacks & (1L << bk)) != 0) return INVALID;
+        if (wtm && (pawnAttacks & (1L << bk)) != 0) return INVALID;
+
+        int promo = psq + 8;
+        if (wtm && (psq >>> 3) == 6 && wk != promo && bk != promo
+                && (!near(bk, promo) || near(wk, promo))) return WIN;
+
+        if (!wtm) {
+            long escapes = BitUtility.KING_ATTACKS[bk] & ~(wkAttacks | pawnAttacks);
+            if (escapes == 0) return DRAW;
+            if ((escapes & (1L << psq)) != 0) return DRAW;
+        }
+        return UNKNOWN;
+    }
+
+    /** WIN or DRAW once every successor is settled the right way, else UNKNOWN. */
+    private static byte resolve(byte[] db, int i) {
+        int bk = i & 63, wk = (i >>> 6) & 63, psq = pawnSquare(i);
+        boolean wtm = ((i >>> 12) & 1) == 0;
+        boolean unknown = false;
+
+        if (wtm) {
+            for (long m = BitUtility.KING_ATTACKS[wk] & ~(1L << psq); m != 0; m &= m - 1) {
+                byte r = db[index(false, Long.numberOfTrailingZeros(m), bk, psq)];
+                if (r == WIN) return WIN;
+                if (r == UNKNOWN) unknown = true;
+            }
+            int rank = psq >>> 3;
+            if (rank < 6) {
+                int one = psq + 8;
+                if (one != wk && one != bk) {
+                    byte r = db[index(false, wk, bk, one)];
+                    if (r == WIN) return WIN;
+                    if (r == UNKNOWN) unknown = true;
+                    int two = one + 8;
+                    if (rank == 1 && two != wk && two != bk) {
+                        r = db[index(false, wk, bk, two)];
+                        if (r == WIN) return WIN;
+                        if (r == UNKNOWN) unknown = true;
+                    }
+                }
+            }
+            return unknown ? UNKNOWN : DRAW;
+        }
+
+        for (long m = BitUtility.KING_ATTACKS[bk] & ~(1L << psq); m != 0; m &= m - 1) {
+            byte r = db[index(true, wk, Long.numberOfTrailingZeros(m), psq)];
+            if (r == DRAW) return DRAW;
+            if (r == UNKNOWN) unknown = true;
+        }
+        return unknown ? UNKNOWN : WIN;
+    }
+
+    private static boolean near(int a, int b) {
+        return Math.max(Math.abs((a & 7) - (b & 7)), Math.abs((a >>> 3) - (b >>> 3))) <= 1;
+    }
+}
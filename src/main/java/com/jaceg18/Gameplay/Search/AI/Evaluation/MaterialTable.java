@@ -0,0 +1,141 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+import com.jaceg18.Gameplay.Utility.GameState;
+
+/**
+ * Everything the evaluation derives from piece counts alone, precomputed per material signature.
+ * <p>
+ * The material key packs a 4-bit count per non-king piece (white P N B R Q, then black), so
+ * {@link GameState} keeps it up to date with one add per capture or promotion. Signatures within
+ * normal counts (up to 8 pawns, 2 minors and rooks of each kind, 1 queen per side) index a dense table;
+ * anything rarer is computed on the spot. An entry packs the imbalance (bishop pair), whether the
+ * material cannot mate, whether the fifty-move scaling is skipped, the divisor for pawnless minor-piece
+ * endings and the specialised {@link Endgame}, if any.
+ */
+public final class MaterialTable {
+    private static final int BISHOP_PAIR = 40;
+
+    private static final int DRAW = 1 << 16, FIFTY_EXEMPT = 1 << 17, DIVISOR_SHIFT = 18, ENDGAME_SHIFT = 20;
+    private static final Endgame[] ENDGAMES = Endgame.values();
+
+    private static final int[] MAX = {8, 2, 2, 2, 1};
+    private static final int SIDE = 9 * 3 * 3 * 3 * 2;
+    private static final int[] TABLE = new int[SIDE * SIDE];
+
+    static {
+        int[] w = new int[5], b = new int[5];
+        for (int wi = 0; wi < SIDE; wi++) {
+            decode(wi, w);
+            for (int bi = 0; bi < SIDE; bi++) {
+                decode(bi, b);
+                TABLE[wi * SIDE + bi] = compute(w, b);
+            }
+        }
+    }
+
+    private MaterialTable() {}
+
+    /** Key increment for one piece of {@code piece} (PieceType index); kings do not count. */
+    public static long unit(int piece) {
+        int kind = piece % 6;
+        if (kind == 5) return 0L;
+        return 1L << (4 * ((piece < 6 ? 0 : 5) + kind));
+    }
+
+    /** Material key of {@code s} counted from its bitboards. */
+    public static long key(GameState s) {
+        long k = 0L;
+        for (int kind = 0; kind < 5; kind++) {
+            k += (long) Long.bitCount(s.pieces(kind, true)) << (4 * kind);
+            k += (long) Long.bitCount(s.pieces(kind, false)) << (4 * (5 + kind));
+        }
+        return k;
+    }
+
+    /** The packed entry for a material key. */
+    public static int entry(long key) {
+        int wi = 0, bi = 0;
+        for (int kind = 4; kind >= 0; kind--) {
+            int wc = (int) (key >>> (4 * kind)) & 15, bc = (int) (key >>> (4 * (5 + kind))) & 15;
+            if (wc > MAX[kind] || bc > MAX[kind]) return compute(counts(key, 0), counts(key, 5));
+            wi = wi * (MAX[kind] + 1) + wc;
+            bi = bi * (MAX[kind] + 1) + bc;
+        }
+        return TABLE[wi * SIDE + bi];
+    }
+
+    static int imbalance(int entry) { return (short) entry; }
+
+    static boolean isDraw(int entry) { return (entry & DRAW) != 0; }
+
+    static boolean fiftyExempt(int entry) { return (entry & FIFTY_EXEMPT) != 0; }
+
+    /** 1, or 2-3 for pawnless minor-piece endings that are hard to win. */
+    static int divisor(int entry) { return (entry >>> DIVISOR_SHIFT) & 3; }
+
+    /** The specialised evaluator, or null for the generic one. */
+    static Endgame endgame(int entry) {
+        int e = (entry >>> ENDGAME_SHIFT) & 15;
+        return e == 0 ? null : ENDGAMES[e - 1];
+    }
+
+    private static void decode(int index, int[] c) {
+        for (int kind = 0; kind < 5; kind++) {
+            c[kind] = index % (MAX[kind] + 1);
+            index /= MAX[kind] + 1;
+        }
+    }
+
+    private static int[] counts(long key, int slot) {
+        int[] c = new int[5];
+        for (int kind = 0; kind < 5; kind++) c[kind] = (int) (key >>> (4 * (slot + kind))) & 15;
+        return c;
+    }
+
+    private static int compute(int[] w, int[] b) {
+        int imbalance = (w[2] >= 2 ? BISHOP_PAIR : 0) - (b[2] >= 2 ? BISHOP_PAIR : 0);
+        int e = imbalance & 0xFFFF;
+        if (hasLikelyMateWithoutPawnMove(w, b)) e |= FIFTY_EXEMPT;
+        if (isInsufficientMaterial(w, b)) e |= DRAW;
+        e |= minorOnlyDivisor(w, b) << DIVISOR_SHIFT;
+        Endgame eg = endgame(w, b);
+        if (eg == null) eg = endgame(b, w);
+        if (eg != null) e |= (eg.ordinal() + 1) << ENDGAME_SHIFT;
+        return e;
+    }
+
+    /** The evaluator for {@code strong} against a bare king, if one applies. */
+    private static Endgame endgame(int[] strong, int[] weak) {
+        for (int c : weak) if (c != 0) return null;
+        int p = strong[0], n = strong[1], bi = strong[2], r = strong[3], q = strong[4];
+        if (q > 0 || r > 0) return Endgame.KXK;
+        if (p == 0 && n == 1 && bi == 1) return Endgame.KBNK;
+        if (p == 1 && n == 0 && bi == 0) return Endgame.KPK;
+        return null;
+    }
+
+    private static boolean hasLikelyMateWithoutPawnMove(int[] w, int[] b) {
+        if (w[3] + b[3] + w[4] + b[4] != 0) return true;
+        if (w[0] + b[0] == 0) {
+            int wMin = w[1] + w[2], bMin = b[1] + b[2];
+            return (wMin >= 2 && bMin == 0) || (bMin >= 2 && wMin == 0);
+        }
+        return false;
+    }
+
+    private static boolean isInsufficientMaterial(int[] w, int[] b) {
+        if (w[0] + b[0] + w[3] + b[3] + w[4] + b[4] != 0) return false;
+        int wMin = w[1] + w[2], bMin = b[1] + b[2];
+        if (wMin == 0 && bMin == 0) return true;
+        if ((wMin == 1 && bMin == 0) || (wMin == 0 && bMin == 1)) return true;
+        if ((wMin == 2 && w[1] == 2 && bMin == 0) || (bMin == 2 && b[1] == 2 && wMin == 0)) return true;
+        return wMin == 1 && bMin == 1 && w[2] == 1 && b[2] == 1;
+    }
+
+    private static int minorOnlyDivisor(int[] w, int[] b) {
+        if (w[0] + b[0] + w[3] + b[3] + w[4] + b[4] != 0) return 1;
+        int wMin = w[1] + w[2], bMin = b[1] + b[2];
+        if ((wMin >= 2 && bMin == 0) || (bMin >= 2 && wMin == 0)) return 1;
+        return wMin + bMin <= 2 ? 2 : 3;
+    }
+}
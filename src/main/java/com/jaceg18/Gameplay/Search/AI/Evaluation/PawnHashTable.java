@@ -0,0 +1,52 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+import com.jaceg18.Gameplay.Search.AI.SearchMetrics;
+
+/**
+ * Direct-mapped cache of the pawn-only part of the evaluation, keyed by
+ * {@link com.jaceg18.Gameplay.Utility.GameState#pawnKey()}. Each slot holds the pawn-structure score
+ * (doubled, isolated and passed pawns, white minus black) and the per-file shield masks. Pawn moves are
+ * rare inside the tree, so nearly every leaf hits. Not thread-safe: each search thread owns one.
+ * <p>
+ * An empty slot has key 0 and all-zero data, which is exactly the entry for a board without pawns.
+ */
+public final class PawnHashTable {
+    public static final int DEFAULT_MB = 2;
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int MAX_ENTRIES = 1 << 26;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final SearchMetrics metrics;
+
+    /** Table of the largest power-of-two entry count that fits in {@code mb} megabytes. */
+    public PawnHashTable(int mb, SearchMetrics metrics) {
+        long want = Math.max(1L, ((long) mb << 20) / BYTES_PER_ENTRY);
+        int cap = 1;
+        while ((long) cap << 1 <= want && cap < MAX_ENTRIES) cap <<= 1;
+        keys = new long[cap];
+        data = new long[cap];
+        mask = cap - 1;
+        this.metrics = metrics;
+    }
+
+    /** Slot for {@code key}; check it with {@link #matches} before reading. */
+    int index(long key) { return (int) key & mask; }
+
+    boolean matches(int i, long key) {
+        metrics.pawnProbes++;
+        if (keys[i] != key) return false;
+        metrics.pawnHits++;
+        return true;
+    }
+
+    void store(int i, long key, int structure, int shieldFiles) {
+        keys[i] = key;
+        data[i] = (structure & 0xFFFFFFFFL) | ((long) shieldFiles << 32);
+    }
+
+    int structure(int i) { return (int) data[i]; }
+
+    int shieldFiles(int i) { return (int) (data[i] >>> 32); }
+}
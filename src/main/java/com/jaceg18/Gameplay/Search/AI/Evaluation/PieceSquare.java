@@ -0,0 +1,66 @@
+package com.jaceg18.Gameplay.Search.AI.Evaluation;
+
+/**
+ * The linear part of the evaluation: material, phase weight and opening/endgame piece-square values,
+ * indexed like {@link com.jaceg18.Gameplay.Pieces.PieceType} (0..5 white, 6..11 black). Values are from
+ * white's point of view, so black entries are negated. {@link com.jaceg18.Gameplay.Utility.GameState}
+ * keeps running sums of these across make/unmake.
+ */
+public final class PieceSquare {
+    public static final int P = 100, N = 320, B = 330, R = 500, Q = 900;
+
+    /** Phase weight per piece; a full set of pieces sums to {@link #PHASE_MAX}. */
+    public static final int PH_N = 1, PH_B = 1, PH_R = 2, PH_Q = 4;
+    public static final int PHASE_MAX = PH_N*4 + PH_B*4 + PH_R*4 + PH_Q*2;
+
+    private static final int PAWN_CENTER = 8;
+    private static final int KNIGHT_CENTER = 10;
+    private static final int KING_CENTER_OPEN_PEN = 15;
+    private static final int KING_CENTER_END_BON = 8;
+
+    private static final long CENTER4 = 0x0000001818000000L;
+    private static final long CENTER_KING = 0x00003C3C3C3C0000L;
+
+    private static final int[] VALUE = {P, N, B, R, Q, 0};
+    private static final int[] PHASE = {0, PH_N, PH_B, PH_R, PH_Q, 0};
+
+    private static final int[] MATERIAL = new int[12];
+    private static final int[] PHASE_OF = new int[12];
+    private static final int[][] MG = new int[12][64];
+    private static final int[][] EG = new int[12][64];
+
+    static {
+        for (int kind = 0; kind < 6; kind++) {
+            MATERIAL[kind] = VALUE[kind];
+            MATERIAL[kind + 6] = -VALUE[kind];
+            PHASE_OF[kind] = PHASE_OF[kind + 6] = PHASE[kind];
+        }
+        for (int sq = 0; sq < 64; sq++) {
+            long m = 1L << sq;
+            if ((m & CENTER4) != 0) {
+                MG[0][sq] = PAWN_CENTER;     EG[0][sq] = PAWN_CENTER / 2;
+                MG[1][sq] = KNIGHT_CENTER;   EG[1][sq] = KNIGHT_CENTER / 2;
+            }
+            if ((m & CENTER_KING) != 0) {
+                MG[5][sq] = -KING_CENTER_OPEN_PEN;
+                EG[5][sq] = KING_CENTER_END_BON;
+            }
+        }
+        for (int kind = 0; kind < 6; kind++) {
+            for (int sq = 0; sq < 64; sq++) {
+                MG[kind + 6][sq ^ 56] = -MG[kind][sq];
+                EG[kind + 6][sq ^ 56] = -EG[kind][sq];
+            }
+        }
+    }
+
+    private PieceSquare() {}
+
+    public static int material(int piece) { return MATERIAL[piece]; }
+
+    public static int phase(int piece) { return PHASE_OF[piece]; }
+
+    public static int mg(int piece, int sq) { return MG[piece][sq]; }
+
+    public static int eg(int piece, int sq) { return EG[piece][sq]; }
+}
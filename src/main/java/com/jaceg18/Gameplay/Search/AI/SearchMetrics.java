@@ -2,5 +2,12 @@ package com.jaceg18.Gameplay.Search.AI;
 
 public final class SearchMetrics {
     public long nodes;
-    public void reset(){ nodes = 0; }
+    public long qnodes;
+    public long pawnProbes, pawnHits;
+    public long evalProbes, evalHits;
+    public void reset(){ nodes = 0; qnodes = 0; pawnProbes = 0; pawnHits = 0; evalProbes = 0; evalHits = 0; }
+
+    public double pawnHitRate(){ return pawnProbes == 0 ? 0.0 : (double) pawnHits / pawnProbes; }
+
+    public double evalHitRate(){ return evalProbes == 0 ? 0.0 : (double) evalHits / evalProbes; }
 }
@@ -8,5 +8,7 @@ import java.util.function.IntSupplier;
 public record SearchConfig(
         IntSupplier maxDepthSupplier,
         IntConsumer maxDepthSetter,
+        IntSupplier threadsSupplier,
+        IntConsumer threadsSetter,
         SearchAlgorithm algorithm
 ) {}
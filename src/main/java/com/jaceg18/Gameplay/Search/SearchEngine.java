@@ -3,6 +3,9 @@ package com.jaceg18.Gameplay.Search;
 import com.jaceg18.Gameplay.Opening.OpeningBook;
 import com.jaceg18.Gameplay.Search.AI.AiProvider;
 import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchAlgorithm;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchControl;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchListener;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.TimeManager;
 import com.jaceg18.Gameplay.Utility.GameState;
 import com.jaceg18.ModernMain;
 
@@ -17,6 +20,7 @@ public final class SearchEngine implements AiProvider {
     private final SearchAlgorithm algo;
 
     private boolean declaredOpening = false;
+    private volatile int ponderMove;
 
     public SearchEngine(SearchConfig cfg) {
         this.cfg = cfg;
@@ -30,6 +34,10 @@ public final class SearchEngine implements AiProvider {
 
     @Override public int getMaxDepth() { return cfg.maxDepthSupplier().getAsInt(); }
 
+    public void setThreads(int n) { cfg.threadsSetter().accept(Math.max(1, n)); }
+
+    public int getThreads() { return cfg.threadsSupplier().getAsInt(); }
+
     @Override public void setProgressCallback(IntConsumer cb) { this.progressCb = cb; }
 
 
@@ -39,7 +47,36 @@ public final class SearchEngine implements AiProvider {
     }
 
 
+    public void setSearchListener(SearchListener listener) { algo.setListener(listener); }
+
+    @Override public void setHashSizeMb(int mb) { algo.setHashSizeMb(mb); }
+
+    /** Limits and stop flag for the search; reset it before each search that may be stopped or limited. */
+    public SearchControl control() { return algo.control(); }
+
+    /** Ends the running search early; it still returns the best move found so far. */
+    @Override public void stop() { algo.control().stop(); }
+
+    @Override public void clearStop() { algo.control().reset(); }
+
+    @Override public void startPondering() { algo.control().startPondering(); }
+
+    @Override public void ponderHit() { algo.control().ponderHit(); }
+
+    @Override public int ponderMove() { return ponderMove; }
+
+    @Override public void newGame() {
+        algo.newGame();
+        declaredOpening = false;
+    }
+
     @Override public int pickMove(GameState s, int timeMs) {
+        return pickMove(s, timeMs > 0 ? TimeManager.fixed(timeMs) : null);
+    }
+
+    /** Book move if there is one, otherwise a search limited by {@code time}, or by depth alone when it is null. */
+    public int pickMove(GameState s, TimeManager time) {
+        ponderMove = 0;
         if (book != null) {
             int bm = book.pick(s);
             if (bm != 0) {
@@ -57,7 +94,10 @@ public final class SearchEngine implements AiProvider {
             }
 
         }
-        return timeMs > 0 ? algo.computeBestMove(s, timeMs, null) : algo.computeBestMove(s, progressCb);
+        int best = time != null ? algo.computeBestMove(s, time, null) : algo.computeBestMove(s, progressCb);
+        int[] pv = algo.principalVariation();
+        if (pv.length > 1 && pv[0] == best) ponderMove = pv[1];
+        return best;
 
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.jaceg18.Gameplay.TB;
 
+import com.jaceg18.Gameplay.Utility.BitUtility;
 import com.jaceg18.Gameplay.Utility.GameState;
 
 public final class FenUtil {
@@ -29,6 +30,48 @@ public final class FenUtil {
         return board + " " + stm + " " + cr + " " + ep + " " + s.halfmoveClock() + " " + s.fullmoveNumber;
     }
 
+    public static GameState fromFEN(String fen) {
+        GameState s = new GameState();
+        setFEN(s, fen);
+        return s;
+    }
+
+    public static void setFEN(GameState s, String fen) {
+        if (fen == null) throw new IllegalArgumentException("bad FEN: null");
+        String[] parts = fen.trim().split("\\s+");
+        if (parts.length < 4) throw new IllegalArgumentException("bad FEN: " + fen);
+
+        long[] pieces = new long[12];
+        int rank = 7, file = 0;
+        for (int i = 0; i < parts[0].length(); i++) {
+            char c = parts[0].charAt(i);
+            if (c == '/') { rank--; file = 0; continue; }
+            if (c >= '1' && c <= '8') { file += c - '0'; continue; }
+            int idx = "PNBRQKpnbrqk".indexOf(c);
+            if (idx < 0 || rank < 0 || file > 7) throw new IllegalArgumentException("bad FEN: " + fen);
+            pieces[idx] |= 1L << ((rank << 3) | file);
+            file++;
+        }
+        if (rank != 0) throw new IllegalArgumentException("bad FEN: " + fen);
+
+        boolean white;
+        if (parts[1].equals("w")) white = true;
+        else if (parts[1].equals("b")) white = false;
+        else throw new IllegalArgumentException("bad FEN: " + fen);
+
+        int rights = 0;
+        if (parts[2].indexOf('K') >= 0) rights |= 0b0001;
+        if (parts[2].indexOf('Q') >= 0) rights |= 0b0010;
+        if (parts[2].indexOf('k') >= 0) rights |= 0b0100;
+        if (parts[2].indexOf('q') >= 0) rights |= 0b1000;
+
+        int ep = parts[3].equals("-") ? -1 : BitUtility.squareIndexOf(parts[3]);
+        int hmc = parts.length > 4 ? Integer.parseInt(parts[4]) : 0;
+        int fmn = parts.length > 5 ? Integer.parseInt(parts[5]) : 1;
+
+        s.setPosition(pieces, white, rights, ep, hmc, fmn);
+    }
+
     private static String castling(int rights) {
         StringBuilder sb = new StringBuilder();
         if ((rights & 0b0001) != 0) sb.append('K');
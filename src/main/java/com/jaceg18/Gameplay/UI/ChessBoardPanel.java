@@ -6,13 +6,13 @@ import com.jaceg18.Gameplay.TB.FenUtil;
 import com.jaceg18.Gameplay.TB.TablebaseClient;
 import com.jaceg18.Gameplay.Utility.GameState;
 import com.jaceg18.Gameplay.Utility.MoveGen;
-import com.jaceg18.Gameplay.Zobrist;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 
 public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotionListener {
     public static final int BOARD_PX = 720;
@@ -22,6 +22,11 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
 
     private volatile boolean aiRunning = false;
     private Thread aiThread = null;
+    private boolean ponderEnabled = true;
+    private volatile boolean pondering = false;
+    private long ponderKey;
+    private CountDownLatch ponderGate = new CountDownLatch(0);
+    private int searchSeq = 0;
 
     private final GameState state = new GameState();
     private final Deque<GameState.Undo> undo = new ArrayDeque<>();
@@ -81,7 +86,7 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
         new Thread(() -> {
             try {
                 String fen = FenUtil.toFEN(state);
-                long zkey = Zobrist.compute(state);
+                long zkey = state.hash();
                 var tb = TablebaseClient.probe(zkey, fen);
 
                 SwingUtilities.invokeLater(() -> {
@@ -124,11 +129,13 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
     public void setAi(AiProvider ai) { this.ai = ai; }
     
     public void resetGame() {
+        cancelAi();
         state.setToStartpos();
         undo.clear();
         selection.clear();
         painter.clearLastMove();
         initGameCounters();
+        if (ai != null) ai.newGame();
         repaint();
         console.logInfo("New game started");
     }
@@ -153,6 +160,7 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
     }
 
     public void setAiNone() {
+        if (pondering) cancelAi();
         aiPlaysWhite = false;
         aiPlaysBlack = false;
         console.logInfo("AI disabled for both sides.");
@@ -319,9 +327,8 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
     public void undoMove() {
         if (undo.isEmpty()) return;
 
-        if (aiRunning) {
-            aiRunning = false;
-            if (aiThread != null) aiThread.interrupt();
+        if (aiRunning || pondering) {
+            cancelAi();
             progress.setVisible(false);
             progress.setIndeterminate(false);
             progress.setValue(0);
@@ -365,8 +372,7 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
 
     private void declareMate(boolean winnerWhite) {
         gameOver = true;
-        if (aiRunning && aiThread != null) aiThread.interrupt();
-        aiRunning = false;
+        cancelAi();
 
         progress.setVisible(false);
         progress.setIndeterminate(false);
@@ -382,17 +388,21 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
 
     private void startAiTurn() {
         if (ai == null || gameOver) return;
-        if (aiRunning) return;
 
         boolean aiTurn = state.whiteToMove() ? aiPlaysWhite : aiPlaysBlack;
+        if (pondering && aiTurn) {
+            if (state.hash() == ponderKey) {
+                ponderHit();
+                return;
+            }
+            cancelAi();
+        }
+        if (aiRunning) return;
         if (!aiTurn) return;
 
+        cancelAi();
         aiRunning = true;
 
-        GameState snap = state.copy();
-
-        ai.setRepetitionCounter(k -> posCounts.getOrDefault(k, 0));
-
         progress.setVisible(true);
         progress.setIndeterminate(true);
       ai.setProgressCallback(p -> SwingUtilities.invokeLater(() -> {
@@ -401,36 +411,107 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
           progress.setString(p + "%");
       }));
 
+        launchSearch(state.copy(), false);
+    }
+
+    /**
+     * Searches the position after the opponent's expected reply while they think. If they play it,
+     * {@link #startAiTurn()} turns this search into the real one; otherwise it is stopped and only the
+     * table entries it wrote are kept.
+     */
+    private void startPondering(int expected) {
+        if (!ponderEnabled || ai == null || gameOver || aiRunning || pondering || expected <= 0) return;
+        boolean aiTurn = state.whiteToMove() ? aiPlaysWhite : aiPlaysBlack;
+        boolean aiPlaysOther = state.whiteToMove() ? aiPlaysBlack : aiPlaysWhite;
+        if (aiTurn || !aiPlaysOther || !MoveGen.generateAllLegal(state).contains(expected)) return;
+
+        cancelAi();
+        GameState snap = state.copy();
+        snap.make(expected);
+        pondering = true;
+        ponderKey = snap.hash();
+        ai.setProgressCallback(null);
+        launchSearch(snap, true);
+    }
+
+    private void ponderHit() {
+        pondering = false;
+        aiRunning = true;
+        progress.setVisible(true);
+        progress.setIndeterminate(true);
+        ai.ponderHit();
+        ponderGate.countDown();
+        console.logInfo("Ponder hit.");
+    }
+
+    private void launchSearch(GameState snap, boolean ponder) {
+        Map<Long, Integer> counts = new HashMap<>(posCounts);
+        if (ponder) counts.merge(snap.hash(), 1, Integer::sum);
+        ai.setRepetitionCounter(k -> counts.getOrDefault(k, 0));
+        ai.clearStop();
+        if (ponder) ai.startPondering();
+
+        CountDownLatch gate = new CountDownLatch(ponder ? 1 : 0);
+        ponderGate = gate;
+        int seq = ++searchSeq;
 
         aiThread = new Thread(() -> {
             try {
                int best = ai.pickMove(snap, AI_THINKING_TIME_MS);
-
+               int expected = ai.ponderMove();
+               gate.await();
 
                 SwingUtilities.invokeLater(() -> {
+                    if (seq != searchSeq) return;
                     progress.setVisible(false);
                     progress.setIndeterminate(false);
                     progress.setValue(0);
                     progress.setString(null);
 
-                    if (gameOver) return;
+                    if (gameOver || state.hash() != snap.hash()) return;
                     boolean stillAiTurn = state.whiteToMove() ? aiPlaysWhite : aiPlaysBlack;
                     if (!stillAiTurn) return;
 
                     if (MoveGen.generateAllLegal(state).contains(best)) {
-                        playAnimated(best, this::startAiTurn);
+                        playAnimated(best, () -> {
+                            startAiTurn();
+                            startPondering(expected);
+                        });
                     }
                 });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             } finally {
                 aiRunning = false;
             }
-        }, "AI");
+        }, ponder ? "AI-ponder" : "AI");
 
         aiThread.setDaemon(true);
         aiThread.start();
     }
 
+    /** Stops a search or ponder in flight and waits for its thread, which notices the stop within milliseconds. */
+    private void cancelAi() {
+        if ((aiRunning || pondering) && ai != null) ai.stop();
+        aiRunning = false;
+        pondering = false;
+        ponderGate.countDown();
+        searchSeq++;
+        if (aiThread != null) {
+            try {
+                aiThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            aiThread = null;
+        }
+    }
 
+    public void setPonder(boolean enabled) {
+        ponderEnabled = enabled;
+        if (!enabled && pondering) cancelAi();
+        console.logInfo("Pondering " + (enabled ? "ON" : "OFF"));
+    }
 
     private boolean isOwnPiece(int sq) {
         long own = state.whiteToMove() ? state.whitePieces() : state.blackPieces();
@@ -461,8 +542,7 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
     private void declareDraw(String reason) {
         gameOver = true;
 
-        if (aiRunning && aiThread != null) aiThread.interrupt();
-        aiRunning = false;
+        cancelAi();
         progress.setVisible(false);
         progress.setIndeterminate(false);
         progress.setValue(0);
@@ -478,17 +558,17 @@ public class ChessBoardPanel extends JPanel implements MouseListener, MouseMotio
 
 
     private void addPosCount() {
-        long key = Zobrist.compute(state);
+        long key = state.hash();
         posCounts.merge(key, 1, Integer::sum);
     }
 
     private void decPosCount() {
-        long key = Zobrist.compute(state);
+        long key = state.hash();
         posCounts.computeIfPresent(key, (k,v) -> (v > 1) ? v - 1 : null);
     }
 
     private boolean isThreefoldNow() {
-        long key = Zobrist.compute(state);
+        long key = state.hash();
         return posCounts.getOrDefault(key, 0) >= 3;
     }
 
@@ -0,0 +1,14 @@
+package com.jaceg18.Gameplay.UI;
+
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchListener;
+
+/** Routes search messages to the Swing console panel. */
+public final class ConsoleSearchListener implements SearchListener {
+    private final ConsoleInterface console;
+
+    public ConsoleSearchListener(ConsoleInterface console) { this.console = console; }
+
+    @Override public void onMessage(String message) { console.logInfo(message); }
+
+    @Override public void onWarning(String message) { console.logWarn(message); }
+}
@@ -15,6 +15,14 @@ public class EngineAdapter implements AiProvider {
     @Override public void setProgressCallback(java.util.function.IntConsumer cb) { engine.setProgressCallback(cb); }
 
 
+    @Override public void setHashSizeMb(int mb) { engine.setHashSizeMb(mb); }
+    @Override public void newGame() { engine.newGame(); }
+    @Override public void stop() { engine.stop(); }
+    @Override public void clearStop() { engine.clearStop(); }
+    @Override public void startPondering() { engine.startPondering(); }
+    @Override public void ponderHit() { engine.ponderHit(); }
+    @Override public int ponderMove() { return engine.ponderMove(); }
+
     @Override
     public void setRepetitionCounter(LongToIntFunction o) {
         engine.setRepetitionCounter(o);
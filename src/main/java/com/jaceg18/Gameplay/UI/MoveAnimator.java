@@ -17,7 +17,9 @@ class MoveAnimator {
     void start(Runnable after, Runnable repaint) {
         if (animImg != null) {
             start = System.currentTimeMillis(); animating = true; if (!timer.isRunning()) timer.start();
-            new javax.swing.Timer(ANIM_MS, e -> { animating = false; timer.stop(); repaint.run(); if (after != null) after.run(); }).start();
+            Timer done = new Timer(ANIM_MS, e -> { animating = false; timer.stop(); repaint.run(); if (after != null) after.run(); });
+            done.setRepeats(false);
+            done.start();
         } else { repaint.run(); if (after != null) after.run(); }
     }
 
@@ -0,0 +1,253 @@
+package com.jaceg18.Gameplay.Uci;
+
+import com.jaceg18.Gameplay.Search.AI.AiFactory;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.TimeManager;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.Util;
+import com.jaceg18.Gameplay.Search.AI.SearchConstants;
+import com.jaceg18.Gameplay.Search.SearchEngine;
+import com.jaceg18.Gameplay.TB.FenUtil;
+import com.jaceg18.Gameplay.Utility.GameState;
+import com.jaceg18.Gameplay.Utility.MoveGen;
+import com.jaceg18.Gameplay.Utility.MoveList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless UCI front-end over {@link SearchEngine}. Commands are read on the calling thread and every
+ * search runs on a single worker, so {@code stop} and {@code isready} are answered while it thinks.
+ */
+public final class UciEngine {
+    private static final String NAME = "Chess v2.0";
+    private static final String AUTHOR = "Jace Grant";
+    private static final int MAX_HASH_MB = 4096;
+    private static final int MAX_THREADS = 256;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final SearchEngine engine = AiFactory.parallel(1);
+    private final UciSearchListener listener;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "uci-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private GameState position = new GameState();
+    private volatile Map<Long, Integer> repetitions = Map.of();
+    private Future<?> running;
+    private CountDownLatch stopSignal = new CountDownLatch(0);
+    private boolean releaseOnPonderHit;
+
+    public UciEngine(InputStream in, PrintStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in));
+        this.out = out;
+        this.listener = new UciSearchListener(out);
+        engine.setMaxDepth(SearchConstants.MAX_DEPTH);
+        engine.setSearchListener(listener);
+        engine.setRepetitionCounter(k -> repetitions.getOrDefault(k, 0));
+    }
+
+    /** Processes commands until {@code quit} or end of input. */
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            try {
+                if (!handle(line)) break;
+            } catch (RuntimeException e) {
+                out.println("info string error: " + e.getMessage());
+            }
+        }
+        stopSearch();
+        worker.shutdownNow();
+    }
+
+    private boolean handle(String line) {
+        String[] t = line.split("\\s+");
+        switch (t[0]) {
+            case "uci" -> {
+                out.println("id name " + NAME);
+                out.println("id author " + AUTHOR);
+                out.println("option name Hash type spin default " + AiFactory.DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+                out.println("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                out.println("option name Ponder type check default false");
+                out.println("uciok");
+            }
+            case "isready" -> out.println("readyok");
+            case "ucinewgame" -> {
+                stopSearch();
+                engine.newGame();
+            }
+            case "setoption" -> setOption(line);
+            case "position" -> position(t);
+            case "go" -> go(t);
+            case "stop" -> stopSearch();
+            case "ponderhit" -> ponderHit();
+            case "quit" -> { return false; }
+            default -> out.println("info string unknown command: " + t[0]);
+        }
+        return true;
+    }
+
+    private void setOption(String line) {
+        int n = line.indexOf(" name "), v = line.indexOf(" value ");
+        if (n < 0) throw new IllegalArgumentException("setoption without name");
+        String name = (v > n ? line.substring(n + 6, v) : line.substring(n + 6)).trim();
+        String value = v > n ? line.substring(v + 7).trim() : "";
+        stopSearch();
+        switch (name.toLowerCase()) {
+            case "hash" -> engine.setHashSizeMb(clamp(Integer.parseInt(value), 1, MAX_HASH_MB));
+            case "threads" -> engine.setThreads(clamp(Integer.parseInt(value), 1, MAX_THREADS));
+            case "ponder" -> { }
+            default -> out.println("info string unknown option: " + name);
+        }
+    }
+
+    private void position(String[] t) {
+        if (t.length < 2) throw new IllegalArgumentException("position without startpos or fen");
+        int i;
+        GameState s;
+        if (t[1].equals("startpos")) {
+            s = new GameState();
+            i = 2;
+        } else if (t[1].equals("fen")) {
+            i = 2;
+            while (i < t.length && !t[i].equals("moves")) i++;
+            s = FenUtil.fromFEN(String.join(" ", Arrays.copyOfRange(t, 2, i)));
+        } else {
+            throw new IllegalArgumentException("bad position: " + t[1]);
+        }
+
+        Map<Long, Integer> counts = new HashMap<>();
+        counts.merge(s.hash(), 1, Integer::sum);
+        if (i < t.length && t[i].equals("moves")) {
+            for (int j = i + 1; j < t.length; j++) {
+                int m = parseMove(s, t[j]);
+                if (m == 0) throw new IllegalArgumentException("illegal move: " + t[j]);
+                s.make(m);
+                counts.merge(s.hash(), 1, Integer::sum);
+            }
+        }
+        position = s;
+        repetitions = counts;
+    }
+
+    private void go(String[] t) {
+        stopSearch();
+        int depth = 0, moveTime = 0, movesToGo = 0;
+        long wtime = -1, btime = -1, winc = 0, binc = 0, nodes = 0;
+        boolean infinite = false, ponder = false;
+        for (int i = 1; i < t.length; i++) {
+            switch (t[i]) {
+                case "depth" -> depth = Integer.parseInt(t[++i]);
+                case "movetime" -> moveTime = Integer.parseInt(t[++i]);
+                case "wtime" -> wtime = Long.parseLong(t[++i]);
+                case "btime" -> btime = Long.parseLong(t[++i]);
+                case "winc" -> winc = Long.parseLong(t[++i]);
+                case "binc" -> binc = Long.parseLong(t[++i]);
+                case "movestogo" -> movesToGo = Integer.parseInt(t[++i]);
+                case "nodes" -> nodes = Long.parseLong(t[++i]);
+                case "infinite" -> infinite = true;
+                case "ponder" -> ponder = true;
+                default -> { }
+            }
+        }
+
+        GameState root = position.copy();
+        boolean white = root.whiteToMove();
+        long clock = white ? wtime : btime;
+        TimeManager time = null;
+        if (!infinite && moveTime > 0) time = TimeManager.fixed(moveTime);
+        else if (!infinite && clock >= 0) time = TimeManager.forClock(clock, white ? winc : binc, movesToGo);
+        engine.setMaxDepth(depth > 0 ? Math.min(depth, SearchConstants.MAX_DEPTH) : SearchConstants.MAX_DEPTH);
+
+        engine.clearStop();
+        engine.control().setNodeLimit(nodes);
+        if (ponder) engine.startPondering();
+        listener.searchStarted();
+        CountDownLatch signal = new CountDownLatch(infinite || ponder ? 1 : 0);
+        stopSignal = signal;
+        releaseOnPonderHit = ponder && !infinite;
+        final TimeManager budget = time;
+        running = worker.submit(() -> {
+            int best;
+            try {
+                best = engine.pickMove(root, budget);
+            } catch (RuntimeException e) {
+                out.println("info string search failed: " + e);
+                best = 0;
+            }
+            try {
+                signal.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.println(bestMoveLine(root, best));
+        });
+    }
+
+    /** The expected move was played: the ponder search keeps going on the real clock and reports when done. */
+    private void ponderHit() {
+        engine.ponderHit();
+        if (releaseOnPonderHit) stopSignal.countDown();
+        releaseOnPonderHit = false;
+    }
+
+    /** Stops the running search, if any, and waits until its bestmove has been written. */
+    private void stopSearch() {
+        engine.stop();
+        stopSignal.countDown();
+        if (running == null) return;
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            out.println("info string search failed: " + e.getCause());
+        }
+        running = null;
+    }
+
+    private String bestMoveLine(GameState root, int best) {
+        if (best <= 0) {
+            MoveList legal = new MoveList();
+            MoveGen.generateAllLegal(root, legal);
+            if (legal.isEmpty()) return "bestmove 0000";
+            best = legal.get(0);
+        }
+        int ponder = engine.ponderMove();
+        String line = "bestmove " + Util.uci(best);
+        if (ponder != 0) line += " ponder " + Util.uci(ponder);
+        return line;
+    }
+
+    private static int parseMove(GameState s, String uci) {
+        MoveList legal = new MoveList();
+        MoveGen.generateAllLegal(s, legal);
+        for (int i = 0; i < legal.size(); i++) {
+            if (uci.equalsIgnoreCase(Util.uci(legal.get(i)))) return legal.get(i);
+        }
+        return 0;
+    }
+
+    private static int clamp(int v, int lo, int hi) {
+        return Math.max(lo, Math.min(hi, v));
+    }
+
+    public static void main(String[] args) throws IOException {
+        new UciEngine(System.in, new PrintStream(System.out, true)).run();
+    }
+}
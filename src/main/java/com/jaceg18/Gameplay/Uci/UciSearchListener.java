@@ -0,0 +1,47 @@
+package com.jaceg18.Gameplay.Uci;
+
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchInfo;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchListener;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.Util;
+
+import java.io.PrintStream;
+
+/** Turns search telemetry into UCI {@code info} lines. */
+final class UciSearchListener implements SearchListener {
+    /** Root move updates are noise on short searches; GUIs only need them once a search has run a while. */
+    private static final long CURRMOVE_AFTER_MS = 1000;
+
+    private final PrintStream out;
+    private volatile long startNanos;
+
+    UciSearchListener(PrintStream out) { this.out = out; }
+
+    void searchStarted() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onIteration(SearchInfo i) {
+        String score = i.isMate() ? "mate " + Util.mateMoves(i.score()) : "cp " + i.score();
+        StringBuilder sb = new StringBuilder(128)
+                .append("info depth ").append(i.depth())
+                .append(" seldepth ").append(i.seldepth())
+                .append(" score ").append(score)
+                .append(" nodes ").append(i.nodes())
+                .append(" nps ").append(i.nps())
+                .append(" hashfull ").append(i.hashfull())
+                .append(" time ").append(i.timeMs());
+        if (i.pv().length > 0) sb.append(" pv ").append(i.pvString());
+        out.println(sb);
+    }
+
+    @Override
+    public void onCurrentMove(int depth, int move, int number) {
+        if ((System.nanoTime() - startNanos) / 1_000_000 < CURRMOVE_AFTER_MS) return;
+        out.println("info depth " + depth + " currmove " + Util.uci(move) + " currmovenumber " + number);
+    }
+
+    @Override public void onMessage(String message) { out.println("info string " + message); }
+
+    @Override public void onWarning(String message) { out.println("info string warning: " + message); }
+}
@@ -0,0 +1,91 @@
+package com.jaceg18.Gameplay.Utility;
+
+/**
+ * Attack maps for one position: squares attacked by each piece type of each side, their union per side,
+ * and the checkers and pinned pieces of the side to move. Sliders are resolved against the full
+ * occupancy. Obtained through {@link GameState#attacks()}, which computes it at most once per position;
+ * checkers and pins are found up front, the per-piece maps only when first asked for.
+ */
+public final class AttackInfo {
+    private final long[] byKind = new long[12];
+    private long whiteAttacks, blackAttacks;
+    private long checkers, pinned;
+    private long key;
+    private boolean valid, mapped;
+    private final GameState owner;
+
+    AttackInfo(GameState owner) { this.owner = owner; }
+
+    /** Starts over for the owner's current position unless this already describes it. */
+    AttackInfo update() {
+        GameState s = owner;
+        if (valid && key == s.hash()) return this;
+        mapped = false;
+        boolean white = s.whiteToMove();
+        checkers = MoveGen.checkers(s, white);
+        pinned = MoveGen.pinned(s, white);
+        key = s.hash();
+        valid = true;
+        return this;
+    }
+
+    private void map() {
+        whiteAttacks = fill(owner, true, 0);
+        blackAttacks = fill(owner, false, 6);
+        mapped = true;
+    }
+
+    private long fill(GameState s, boolean white, int base) {
+        long occ = s.allPieces();
+        long p = s.pawns(white);
+        byKind[base] = white
+                ? BitUtility.oneStepNorthEast(p) | BitUtility.oneStepNorthWest(p)
+                : BitUtility.oneStepSouthEast(p) | BitUtility.oneStepSouthWest(p);
+        long a = 0L;
+        for (long bb = s.knights(white); bb != 0; bb &= bb - 1)
+            a |= BitUtility.KNIGHT_ATTACKS[Long.numberOfTrailingZeros(bb)];
+        byKind[base + 1] = a;
+        a = 0L;
+        for (long bb = s.bishops(white); bb != 0; bb &= bb - 1)
+            a |= BitUtility.squaresABishopCouldSlideTo(Long.numberOfTrailingZeros(bb), occ);
+        byKind[base + 2] = a;
+        a = 0L;
+        for (long bb = s.rooks(white); bb != 0; bb &= bb - 1)
+            a |= BitUtility.squaresARookCouldSlideTo(Long.numberOfTrailingZeros(bb), occ);
+        byKind[base + 3] = a;
+        a = 0L;
+        for (long bb = s.queens(white); bb != 0; bb &= bb - 1) {
+            int sq = Long.numberOfTrailingZeros(bb);
+            a |= BitUtility.squaresABishopCouldSlideTo(sq, occ) | BitUtility.squaresARookCouldSlideTo(sq, occ);
+        }
+        byKind[base + 4] = a;
+        long k = s.king(white);
+        byKind[base + 5] = k != 0 ? BitUtility.KING_ATTACKS[Long.numberOfTrailingZeros(k)] : 0L;
+
+        long all = 0L;
+        for (int i = base; i < base + 6; i++) all |= byKind[i];
+        return all;
+    }
+
+    /** Squares attacked by pieces of {@code kind} (0 pawn .. 5 king) of one side. */
+    public long attacks(int kind, boolean white) {
+        if (!mapped) map();
+        return byKind[(white ? 0 : 6) + kind];
+    }
+
+    /** Every square attacked by {@code white}. */
+    public long attacked(boolean white) {
+        if (!mapped) map();
+        return white ? whiteAttacks : blackAttacks;
+    }
+
+    public boolean isAttacked(int sq, boolean byWhite) { return (attacked(byWhite) & (1L << sq)) != 0; }
+
+    /** Enemy pieces giving check to the side to move. */
+    public long checkers() { return checkers; }
+
+    public boolean inCheck() { return checkers != 0; }
+
+    /** Pieces of the side to move that are absolutely pinned to their king. */
+    public long pinned() { return pinned; }
+}
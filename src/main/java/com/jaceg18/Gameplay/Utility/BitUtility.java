@@ -21,6 +21,11 @@ public final class BitUtility {
     public static final long[] WHITE_PAWN_ATTACKS = new long[64];
     public static final long[] BLACK_PAWN_ATTACKS = new long[64];
 
+    /** Squares strictly between two aligned squares, 0 when they share no rank, file or diagonal. */
+    public static final long[][] BETWEEN = new long[64][64];
+    /** The full line through two aligned squares (edge to edge), 0 when they are not aligned. */
+    public static final long[][] LINE = new long[64][64];
+
     static {
         for (int sq = 0; sq < 64; sq++) ONE_AT_SQUARE[sq] = 1L << sq;
         for (int r = 0; r < 8; r++) {
@@ -39,6 +44,19 @@ public final class BitUtility {
             WHITE_PAWN_ATTACKS[sq] = whitePawnAttacksFrom(sq);
             BLACK_PAWN_ATTACKS[sq] = blackPawnAttacksFrom(sq);
         }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) continue;
+                long ab = ONE_AT_SQUARE[a] | ONE_AT_SQUARE[b];
+                if ((rookRays(a, 0L) & ONE_AT_SQUARE[b]) != 0) {
+                    LINE[a][b] = (rookRays(a, 0L) & rookRays(b, 0L)) | ab;
+                    BETWEEN[a][b] = rookRays(a, ONE_AT_SQUARE[b]) & rookRays(b, ONE_AT_SQUARE[a]);
+                } else if ((bishopRays(a, 0L) & ONE_AT_SQUARE[b]) != 0) {
+                    LINE[a][b] = (bishopRays(a, 0L) & bishopRays(b, 0L)) | ab;
+                    BETWEEN[a][b] = bishopRays(a, ONE_AT_SQUARE[b]) & bishopRays(b, ONE_AT_SQUARE[a]);
+                }
+            }
+        }
     }
 
     public static int squareIndexOf(String algebraic) {
@@ -75,15 +93,23 @@ public final class BitUtility {
     public static long squaresAKnightCouldAttackFrom(int sq) { return KNIGHT_ATTACKS[sq]; }
 
     public static long squaresARookCouldSlideTo(int sq, long occupancy) {
-        return slideNorth(sq, occupancy) | slideSouth(sq, occupancy) | slideEast(sq, occupancy) | slideWest(sq, occupancy);
+        return Magics.rookAttacks(sq, occupancy);
     }
 
     public static long squaresABishopCouldSlideTo(int sq, long occupancy) {
-        return slideNE(sq, occupancy) | slideNW(sq, occupancy) | slideSE(sq, occupancy) | slideSW(sq, occupancy);
+        return Magics.bishopAttacks(sq, occupancy);
     }
 
     public static long squaresAQueenCouldSlideTo(int sq, long occupancy) {
-        return squaresARookCouldSlideTo(sq, occupancy) | squaresABishopCouldSlideTo(sq, occupancy);
+        return Magics.queenAttacks(sq, occupancy);
+    }
+
+    static long rookRays(int sq, long occupancy) {
+        return slideNorth(sq, occupancy) | slideSouth(sq, occupancy) | slideEast(sq, occupancy) | slideWest(sq, occupancy);
+    }
+
+    static long bishopRays(int sq, long occupancy) {
+        return slideNE(sq, occupancy) | slideNW(sq, occupancy) | slideSE(sq, occupancy) | slideSW(sq, occupancy);
     }
 
     public static long whitePawnAttacks(long whitePawns) {
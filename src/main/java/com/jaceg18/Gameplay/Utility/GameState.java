@@ -1,5 +1,8 @@
 package com.jaceg18.Gameplay.Utility;
 
+import com.jaceg18.Gameplay.Search.AI.Evaluation.MaterialTable;
+import com.jaceg18.Gameplay.Search.AI.Evaluation.PieceSquare;
+import com.jaceg18.Gameplay.Zobrist;
 
 public final class GameState {
 
@@ -19,6 +22,24 @@ public final class GameState {
 
     private long whitePieces, blackPieces, allPieces;
 
+    private long hash;
+    private long pawnKey;
+    private long materialKey;
+
+    /** Running sums of {@link PieceSquare} terms (white's point of view), kept up to date by make/unmake. */
+    private int material, phase, psqMg, psqEg;
+
+    /**
+     * One attack-map slot per make depth, so a parent's maps survive while its children are searched.
+     * Allocated on first use; slots are checked against the hash, so wrapping around is only a recompute.
+     */
+    private static final int ATTACK_SLOTS = 128;
+    private AttackInfo[] attackSlots;
+    private int makeDepth;
+
+    /** When set (-Dchess.debugHash=true), every make/unmake cross-checks the running keys and eval sums against a full recompute. */
+    private static final boolean DEBUG_HASH = Boolean.getBoolean("chess.debugHash");
+
     public static final int FLAG_CAPTURE = 1<<15;
     public static final int FLAG_EP      = 1<<16;
     public static final int FLAG_CASTLE  = 1<<17;
@@ -51,6 +72,8 @@ public final class GameState {
         public int epSquare;
         int halfmoveClock;
         boolean whiteToMove;
+        long hash, pawnKey, materialKey;
+        int material, phase, psqMg, psqEg;
         long WP,WN,WB,WR,WQ,WK,BP,BN,BB,BR,BQ,BK;
 
         public Undo() {}
@@ -64,6 +87,10 @@ public final class GameState {
             this.epSquare = s.epSquare;
             this.halfmoveClock = s.halfmoveClock;
             this.whiteToMove = s.whiteToMove;
+            this.hash = s.hash;
+            this.pawnKey = s.pawnKey;
+            this.materialKey = s.materialKey;
+            this.material = s.material; this.phase = s.phase; this.psqMg = s.psqMg; this.psqEg = s.psqEg;
             this.WP=s.WP; this.WN=s.WN; this.WB=s.WB; this.WR=s.WR; this.WQ=s.WQ; this.WK=s.WK;
             this.BP=s.BP; this.BN=s.BN; this.BB=s.BB; this.BR=s.BR; this.BQ=s.BQ; this.BK=s.BK;
         }
@@ -72,21 +99,26 @@ public final class GameState {
 
     public void makeInPlace(int m, Undo u){
         u.captureFrom(this, m);
+        makeDepth++;
         final boolean white = whiteToMove;
         final int f = from(m), t = to(m);
         long fromMask = 1L<<f, toMask = 1L<<t;
+        final int own = white ? 0 : 6;
 
+        hash ^= Zobrist.stateKey(this);
         epSquare = -1;
 
         switch (moverKind(m)) {
             case 0 -> {
                 if (white) { WP ^= fromMask ^ toMask; }
                 else       { BP ^= fromMask ^ toMask; }
+                movePiece(own, f, t);
                 if (isDoublePawn(m)) { epSquare = white ? (f+8) : (f-8); }
                 if (isEP(m)) {
                     int capSq = white ? (t-8) : (t+8);
                     long capMask = 1L<<capSq;
                     if (white) BP &= ~capMask; else WP &= ~capMask;
+                    removePiece(6 - own, capSq);
                     halfmoveClock = 0;
                 } else if (isCapture(m)) {
                     captureAtSquare(t, !white); halfmoveClock = 0;
@@ -96,26 +128,28 @@ public final class GameState {
                 int promo = promoKind(m);
                 if (promo >= 0) {
                     if (white) WP &= ~toMask; else BP &= ~toMask;
+                    removePiece(own, t);
                     promoteAtSquare(t, white, promo);
                 }
             }
-            case 1 -> { if (white) WN ^= fromMask ^ toMask; else BN ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 2 -> { if (white) WB ^= fromMask ^ toMask; else BB ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 3 -> { if (white) WR ^= fromMask ^ toMask; else BR ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 4 -> { if (white) WQ ^= fromMask ^ toMask; else BQ ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
+            case 1 -> { if (white) WN ^= fromMask ^ toMask; else BN ^= fromMask ^ toMask; movePiece(own + 1, f, t); resetHMIfCapture(m, white, t); }
+            case 2 -> { if (white) WB ^= fromMask ^ toMask; else BB ^= fromMask ^ toMask; movePiece(own + 2, f, t); resetHMIfCapture(m, white, t); }
+            case 3 -> { if (white) WR ^= fromMask ^ toMask; else BR ^= fromMask ^ toMask; movePiece(own + 3, f, t); resetHMIfCapture(m, white, t); }
+            case 4 -> { if (white) WQ ^= fromMask ^ toMask; else BQ ^= fromMask ^ toMask; movePiece(own + 4, f, t); resetHMIfCapture(m, white, t); }
             case 5 -> {
                 if (white) { WK ^= fromMask ^ toMask; castlingRights &= ~(1|2); }
                 else       { BK ^= fromMask ^ toMask; castlingRights &= ~(4|8); }
+                movePiece(own + 5, f, t);
                 if (isCapture(m)) { captureAtSquare(t, !white); halfmoveClock = 0; }
                 if (isCastle(m)) {
                     int ff = f & 7, tt = t & 7;
                     boolean kingSide = (tt > ff);
                     if (white) {
-                        if (kingSide) { WR ^= (BitUtility.maskFor("h1") ^ BitUtility.maskFor("f1")); }
-                        else          { WR ^= (BitUtility.maskFor("a1") ^ BitUtility.maskFor("d1")); }
+                        if (kingSide) { WR ^= (BitUtility.maskFor("h1") ^ BitUtility.maskFor("f1")); movePiece(3, 7, 5); }
+                        else          { WR ^= (BitUtility.maskFor("a1") ^ BitUtility.maskFor("d1")); movePiece(3, 0, 3); }
                     } else {
-                        if (kingSide) { BR ^= (BitUtility.maskFor("h8") ^ BitUtility.maskFor("f8")); }
-                        else          { BR ^= (BitUtility.maskFor("a8") ^ BitUtility.maskFor("d8")); }
+                        if (kingSide) { BR ^= (BitUtility.maskFor("h8") ^ BitUtility.maskFor("f8")); movePiece(9, 63, 61); }
+                        else          { BR ^= (BitUtility.maskFor("a8") ^ BitUtility.maskFor("d8")); movePiece(9, 56, 59); }
                     }
                     halfmoveClock++;
                 } else {
@@ -128,6 +162,8 @@ public final class GameState {
         whiteToMove = !whiteToMove;
         if (!whiteToMove) fullmoveNumber++;
         recomputeAggregates();
+        hash ^= Zobrist.stateKey(this);
+        if (DEBUG_HASH) verifyHash();
     }
 
 
@@ -144,6 +180,10 @@ public final class GameState {
         this.epSquare=o.epSquare;
         this.halfmoveClock=o.halfmoveClock;
         this.fullmoveNumber=o.fullmoveNumber;
+        this.hash=o.hash;
+        this.pawnKey=o.pawnKey;
+        this.materialKey=o.materialKey;
+        this.material=o.material; this.phase=o.phase; this.psqMg=o.psqMg; this.psqEg=o.psqEg;
     }
 
     public GameState copy(){ return new GameState(this); }
@@ -170,6 +210,30 @@ public final class GameState {
         fullmoveNumber = 1;
 
         recomputeAggregates();
+        recomputeEvalSums();
+        hash = Zobrist.compute(this);
+        pawnKey = Zobrist.pawnKey(this);
+        materialKey = MaterialTable.key(this);
+    }
+
+
+    /** Replaces the whole position; bitboards are indexed like {@link com.jaceg18.Gameplay.Pieces.PieceType}. */
+    public void setPosition(long[] pieces, boolean whiteToMove, int castlingRights, int epSquare,
+                            int halfmoveClock, int fullmoveNumber) {
+        WP = pieces[0]; WN = pieces[1]; WB = pieces[2]; WR = pieces[3]; WQ = pieces[4]; WK = pieces[5];
+        BP = pieces[6]; BN = pieces[7]; BB = pieces[8]; BR = pieces[9]; BQ = pieces[10]; BK = pieces[11];
+
+        this.whiteToMove = whiteToMove;
+        this.castlingRights = castlingRights & 0b1111;
+        this.epSquare = epSquare;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+
+        recomputeAggregates();
+        recomputeEvalSums();
+        hash = Zobrist.compute(this);
+        pawnKey = Zobrist.pawnKey(this);
+        materialKey = MaterialTable.key(this);
     }
 
 
@@ -179,6 +243,27 @@ public final class GameState {
     public long whitePieces(){ return whitePieces; }
     public long blackPieces(){ return blackPieces; }
     public long allPieces(){ return allPieces; }
+    public long hash(){ return hash; }
+    /** Zobrist key of the pawns only; equal for positions with the same pawn structure. */
+    public long pawnKey(){ return pawnKey; }
+    /** Piece counts packed 4 bits per piece type; see {@link MaterialTable}. */
+    public long materialKey(){ return materialKey; }
+
+    /** Material balance in centipawns, white's point of view. */
+    public int material(){ return material; }
+    /** Phase weight of the pieces on the board; {@link PieceSquare#PHASE_MAX} with every piece present. */
+    public int phase(){ return phase; }
+    public int psqMg(){ return psqMg; }
+    public int psqEg(){ return psqEg; }
+
+    /** Attack maps of the current position, computed on first request and shared by eval, movegen and search. */
+    public AttackInfo attacks(){
+        if (attackSlots == null) attackSlots = new AttackInfo[ATTACK_SLOTS];
+        int i = makeDepth & (ATTACK_SLOTS - 1);
+        AttackInfo a = attackSlots[i];
+        if (a == null) attackSlots[i] = a = new AttackInfo(this);
+        return a.update();
+    }
 
     public long pawns(boolean white){ return white ? WP : BP; }
     public long knights(boolean white){ return white ? WN : BN; }
@@ -187,85 +272,60 @@ public final class GameState {
     public long queens(boolean white){ return white ? WQ : BQ; }
     public long king(boolean white){ return white ? WK : BK; }
 
-    public Undo make(int m){
-        Undo u = new Undo(m, this);
-
-        final boolean white = whiteToMove;
-        final int f = from(m), t = to(m);
-        long fromMask = 1L<<f, toMask = 1L<<t;
-
-        epSquare = -1;
-
-        switch (moverKind(m)) {
-            case 0 -> {
-                if (white) { WP ^= fromMask ^ toMask; }
-                else       { BP ^= fromMask ^ toMask; }
+    public long pieces(int kind, boolean white){
+        return switch (kind) {
+            case 0 -> white ? WP : BP;
+            case 1 -> white ? WN : BN;
+            case 2 -> white ? WB : BB;
+            case 3 -> white ? WR : BR;
+            case 4 -> white ? WQ : BQ;
+            default -> white ? WK : BK;
+        };
+    }
 
-                if (isDoublePawn(m)) { epSquare = white ? (f+8) : (f-8); }
+    /** Kind (0 pawn .. 5 king) of whatever piece stands on {@code sq}, or -1 if it is empty. */
+    public int kindAt(int sq){
+        long m = 1L << sq;
+        if ((allPieces & m) == 0) return -1;
+        if (((WP | BP) & m) != 0) return 0;
+        if (((WN | BN) & m) != 0) return 1;
+        if (((WB | BB) & m) != 0) return 2;
+        if (((WR | BR) & m) != 0) return 3;
+        if (((WQ | BQ) & m) != 0) return 4;
+        return 5;
+    }
 
-                if (isEP(m)) {
-                    int capSq = white ? (t-8) : (t+8);
-                    long capMask = 1L<<capSq;
-                    if (white) BP &= ~capMask; else WP &= ~capMask;
-                    halfmoveClock = 0;
-                } else if (isCapture(m)) {
-                    captureAtSquare(t, !white);
-                    halfmoveClock = 0;
-                } else {
-                    halfmoveClock = 0;
-                }
+    public Undo make(int m){
+        Undo u = new Undo();
+        makeInPlace(m, u);
+        return u;
+    }
 
-                int promo = promoKind(m);
-                if (promo >= 0) {
-                    if (white) WP &= ~toMask; else BP &= ~toMask;
-                    promoteAtSquare(t, white, promo);
-                }
-            }
-            case 1 -> { if (white) WN ^= fromMask ^ toMask; else BN ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 2 -> { if (white) WB ^= fromMask ^ toMask; else BB ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 3 -> { if (white) WR ^= fromMask ^ toMask; else BR ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 4 -> { if (white) WQ ^= fromMask ^ toMask; else BQ ^= fromMask ^ toMask; resetHMIfCapture(m, white, t); }
-            case 5 -> {
-                if (white) {
-                    WK ^= fromMask ^ toMask;
-                    castlingRights &= ~(1|2);
-                } else {
-                    BK ^= fromMask ^ toMask;
-                    castlingRights &= ~(4|8);
-                }
-                if (isCapture(m)) { captureAtSquare(t, !white); halfmoveClock = 0; }
-                if (isCastle(m)) {
-                    int ff = f & 7, tt = t & 7;
-                    boolean kingSide = (tt > ff);
-                    if (white) {
-                        if (kingSide) {
-                            WR ^= (BitUtility.maskFor("h1") ^ BitUtility.maskFor("f1"));
-                        } else {
-                            WR ^= (BitUtility.maskFor("a1") ^ BitUtility.maskFor("d1"));
-                        }
-                    } else {
-                        if (kingSide) {
-                            BR ^= (BitUtility.maskFor("h8") ^ BitUtility.maskFor("f8"));
-                        } else {
-                            BR ^= (BitUtility.maskFor("a8") ^ BitUtility.maskFor("d8"));
-                        }
-                    }
-                    halfmoveClock++;
-                } else {
-                    halfmoveClock++;
-                }
-            }
-        }
 
-        updateCastlingRightsOnRookMoveOrCapture(f, t);
+    /** Passes the turn: flips the side to move and clears en passant while every piece stays put. */
+    public void makeNullInPlace(Undo u){
+        u.move = 0;
+        u.epSquare = epSquare;
+        u.halfmoveClock = halfmoveClock;
+        u.whiteToMove = whiteToMove;
+        u.hash = hash;
+        makeDepth++;
 
+        hash ^= Zobrist.stateKey(this);
+        epSquare = -1;
         whiteToMove = !whiteToMove;
-        if (!whiteToMove) fullmoveNumber++;
-
-        recomputeAggregates();
-        return u;
+        halfmoveClock++;
+        hash ^= Zobrist.stateKey(this);
+        if (DEBUG_HASH) verifyHash();
     }
 
+    public void unmakeNull(Undo u){
+        this.epSquare = u.epSquare;
+        this.halfmoveClock = u.halfmoveClock;
+        this.whiteToMove = u.whiteToMove;
+        this.hash = u.hash;
+        makeDepth--;
+    }
 
     public void unmake(Undo u){
         this.castlingRights = u.castlingRights;
@@ -273,10 +333,75 @@ public final class GameState {
         this.halfmoveClock = u.halfmoveClock;
         this.whiteToMove = u.whiteToMove;
 
+        this.hash = u.hash;
+        this.pawnKey = u.pawnKey;
+        this.materialKey = u.materialKey;
+        this.material = u.material; this.phase = u.phase; this.psqMg = u.psqMg; this.psqEg = u.psqEg;
+
         this.WP=u.WP; this.WN=u.WN; this.WB=u.WB; this.WR=u.WR; this.WQ=u.WQ; this.WK=u.WK;
         this.BP=u.BP; this.BN=u.BN; this.BB=u.BB; this.BR=u.BR; this.BQ=u.BQ; this.BK=u.BK;
 
+        makeDepth--;
         recomputeAggregates();
+        if (DEBUG_HASH) verifyHash();
+    }
+
+    private void movePiece(int pieceIdx, int from, int to) {
+        long k = Zobrist.pieceKey(pieceIdx, from) ^ Zobrist.pieceKey(pieceIdx, to);
+        hash ^= k;
+        if (pieceIdx % 6 == 0) pawnKey ^= k;
+        psqMg += PieceSquare.mg(pieceIdx, to) - PieceSquare.mg(pieceIdx, from);
+        psqEg += PieceSquare.eg(pieceIdx, to) - PieceSquare.eg(pieceIdx, from);
+    }
+
+    private void addPiece(int pieceIdx, int sq) {
+        long k = Zobrist.pieceKey(pieceIdx, sq);
+        hash ^= k;
+        if (pieceIdx % 6 == 0) pawnKey ^= k;
+        materialKey += MaterialTable.unit(pieceIdx);
+        material += PieceSquare.material(pieceIdx);
+        phase += PieceSquare.phase(pieceIdx);
+        psqMg += PieceSquare.mg(pieceIdx, sq);
+        psqEg += PieceSquare.eg(pieceIdx, sq);
+    }
+
+    private void removePiece(int pieceIdx, int sq) {
+        long k = Zobrist.pieceKey(pieceIdx, sq);
+        hash ^= k;
+        if (pieceIdx % 6 == 0) pawnKey ^= k;
+        materialKey -= MaterialTable.unit(pieceIdx);
+        material -= PieceSquare.material(pieceIdx);
+        phase -= PieceSquare.phase(pieceIdx);
+        psqMg -= PieceSquare.mg(pieceIdx, sq);
+        psqEg -= PieceSquare.eg(pieceIdx, sq);
+    }
+
+    private void recomputeEvalSums() {
+        material = phase = psqMg = psqEg = 0;
+        for (int piece = 0; piece < 12; piece++) {
+            for (long bb = pieces(piece % 6, piece < 6); bb != 0; bb &= bb - 1) {
+                int sq = Long.numberOfTrailingZeros(bb);
+                material += PieceSquare.material(piece);
+                phase += PieceSquare.phase(piece);
+                psqMg += PieceSquare.mg(piece, sq);
+                psqEg += PieceSquare.eg(piece, sq);
+            }
+        }
+    }
+
+    private void verifyHash() {
+        long full = Zobrist.compute(this);
+        if (full != hash)
+            throw new IllegalStateException("incremental hash " + Long.toHexString(hash) + " != " + Long.toHexString(full));
+        if (pawnKey != Zobrist.pawnKey(this))
+            throw new IllegalStateException("incremental pawn key " + Long.toHexString(pawnKey) + " is stale");
+        if (materialKey != MaterialTable.key(this))
+            throw new IllegalStateException("incremental material key " + Long.toHexString(materialKey) + " is stale");
+        int m = material, ph = phase, mg = psqMg, eg = psqEg;
+        recomputeEvalSums();
+        if (m != material || ph != phase || mg != psqMg || eg != psqEg)
+            throw new IllegalStateException("incremental eval sums " + m + "/" + ph + "/" + mg + "/" + eg
+                    + " != " + material + "/" + phase + "/" + psqMg + "/" + psqEg);
     }
 
     private void recomputeAggregates() {
@@ -288,20 +413,20 @@ public final class GameState {
     private void captureAtSquare(int sq, boolean whiteCaptured) {
         long m = 1L<<sq;
         if (whiteCaptured) {
-            if ((WP & m)!=0) { WP &= ~m; castlingRights &= updateRightsByCapture("white", sq); return; }
-            if ((WN & m)!=0) { WN &= ~m; return; }
-            if ((WB & m)!=0) { WB &= ~m; return; }
-            if ((WR & m)!=0) { WR &= ~m; castlingRights &= updateRightsByCapture("white", sq); return; }
-            if ((WQ & m)!=0) { WQ &= ~m; return; }
-            if ((WK & m)!=0) { WK &= ~m;
+            if ((WP & m)!=0) { WP &= ~m; removePiece(0, sq); castlingRights &= updateRightsByCapture("white", sq); return; }
+            if ((WN & m)!=0) { WN &= ~m; removePiece(1, sq); return; }
+            if ((WB & m)!=0) { WB &= ~m; removePiece(2, sq); return; }
+            if ((WR & m)!=0) { WR &= ~m; removePiece(3, sq); castlingRights &= updateRightsByCapture("white", sq); return; }
+            if ((WQ & m)!=0) { WQ &= ~m; removePiece(4, sq); return; }
+            if ((WK & m)!=0) { WK &= ~m; removePiece(5, sq);
             }
         } else {
-            if ((BP & m)!=0) { BP &= ~m; castlingRights &= updateRightsByCapture("black", sq); return; }
-            if ((BN & m)!=0) { BN &= ~m; return; }
-            if ((BB & m)!=0) { BB &= ~m; return; }
-            if ((BR & m)!=0) { BR &= ~m; castlingRights &= updateRightsByCapture("black", sq); return; }
-            if ((BQ & m)!=0) { BQ &= ~m; return; }
-            if ((BK & m)!=0) { BK &= ~m;
+            if ((BP & m)!=0) { BP &= ~m; removePiece(6, sq); castlingRights &= updateRightsByCapture("black", sq); return; }
+            if ((BN & m)!=0) { BN &= ~m; removePiece(7, sq); return; }
+            if ((BB & m)!=0) { BB &= ~m; removePiece(8, sq); return; }
+            if ((BR & m)!=0) { BR &= ~m; removePiece(9, sq); castlingRights &= updateRightsByCapture("black", sq); return; }
+            if ((BQ & m)!=0) { BQ &= ~m; removePiece(10, sq); return; }
+            if ((BK & m)!=0) { BK &= ~m; removePiece(11, sq);
             }
         }
     }
@@ -316,6 +441,7 @@ public final class GameState {
 
     private void promoteAtSquare(int sq, boolean white, int promo) {
         long m = 1L<<sq;
+        addPiece((white ? 0 : 6) + Math.min(promo, 3) + 1, sq);
         if (white) {
             switch (promo) {
                 case 0 -> WN |= m;
@@ -0,0 +1,175 @@
+package com.jaceg18.Gameplay.Utility;
+
+/**
+ * Fixed-shift magic bitboards for rook and bishop attacks. Tables are filled at class init from the
+ * precomputed magics below; a magic that collides is searched for again from a deterministic seed,
+ * and the finished tables are verified against the ray walkers in {@link BitUtility}.
+ */
+public final class Magics {
+    private Magics() {}
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = {
+            0xA080001820400080L, 0x0040002000401000L, 0x0180300160008008L, 0x0480040800801001L,
+            0x2A00081084204200L, 0x0480018012003400L, 0x0600010082000428L, 0x420002250C018042L,
+            0x0040800040002080L, 0x000040002000500CL, 0x2002004022001080L, 0x0026002200400810L,
+            0x2000808008000400L, 0x0022000200883104L, 0x2C88808001000200L, 0x1112000080420104L,
+            0x0100908000400020L, 0x0080808020004000L, 0x0008410010200300L, 0x0014808010000801L,
+            0x0080050011004800L, 0x00D1010002080400L, 0x3221540021080210L, 0x1000120005288244L,
+            0x020C400080248002L, 0x4020411200220082L, 0x8028100080200881L, 0x1210001100090020L,
+            0x005A005200084520L, 0x0080040080020080L, 0x00D6002200280401L, 0x440B210A00006884L,
+            0x0880401028800080L, 0x2000802008804000L, 0x2160001041002900L, 0x0800080080801000L,
+            0x0444820400800800L, 0x0000040080800200L, 0x0080028104001028L, 0x2808104102000894L,
+            0x0000800100450024L, 0x0000408102020020L, 0x2000200100110044L, 0x0110040008004040L,
+            0x0000080005010010L, 0x0002001088120044L, 0x0008100208040001L, 0x000100008045002AL,
+            0x0001002040800100L, 0x1602209200490200L, 0x1109100020008880L, 0x5000100100200900L,
+            0x0000040080080080L, 0x0003000204000900L, 0x4220080630035400L, 0x6140801100006080L,
+            0x1009234100800039L, 0x8000201200804102L, 0x5004100822004082L, 0x2802000440100822L,
+            0x0801008408001017L, 0x0002000108041062L, 0x8040121108129044L, 0x0400032411008242L
+    };
+    private static final long[] BISHOP_MAGIC = {
+            0x01A0C20202002A00L, 0x2320810102008401L, 0x0408820402218000L, 0x10024081010C0040L,
+            0x4104042001041200L, 0x8400902420001100L, 0x001108220220001AL, 0xAA80240208040300L,
+            0x21C8089014080060L, 0x0000020214140090L, 0x0280040C0C104000L, 0x18B0022082084040L,
+            0x4004040420810801L, 0x4448008804402804L, 0x4081091401044000L, 0x20404C8848021008L,
+            0xC251800510100100L, 0x0620200802808200L, 0xA111000206020200L, 0x8001002020408000L,
+            0x0024011084A00006L, 0x202040020110010AL, 0x004A048088042300L, 0x004840A104208C20L,
+            0x0010C82044481000L, 0x0081041208080820L, 0x0040240008004408L, 0x2804010000200880L,
+            0x0504040000410050L, 0x100A008014100090L, 0x8212008007480848L, 0x0021020001328424L,
+            0x0001901000082008L, 0x0A01086000031400L, 0x0030140202440800L, 0x4084820080180480L,
+            0x0081010400C20020L, 0x8010010040020042L, 0x80241804A0360082L, 0x044C009201108440L,
+            0xA104020241301000L, 0x00808C10020B0922L, 0x0012042208000100L, 0x8000004012021041L,
+            0x8082400B02100B00L, 0x0040408808425680L, 0x20621A0441180400L, 0x4022240848808201L,
+            0x0004840120122000L, 0x1000420210420002L, 0xC800404044108100L, 0x4009800A10440000L,
+            0x011D010510440840L, 0x80008A2048408024L, 0x1062024418088201L, 0x3004410809250010L,
+            0x2820818409114080L, 0x0000042402080404L, 0x0200090020841000L, 0x0082090000842408L,
+            0x1010080060024424L, 0x1100600488100100L, 0x0022082204681210L, 0x0140288094008024L
+    };
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final int[] ROOK_OFFSET = new int[64];
+    private static final int[] BISHOP_OFFSET = new int[64];
+
+    private static final long[] ROOK_TABLE;
+    private static final long[] BISHOP_TABLE;
+
+    private static long seed = 0x2545F4914F6CDD1DL;
+
+    static {
+        int rookSize = 0, bishopSize = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_MASK[sq] = rookMask(sq);
+            BISHOP_MASK[sq] = bishopMask(sq);
+            ROOK_SHIFT[sq] = 64 - Long.bitCount(ROOK_MASK[sq]);
+            BISHOP_SHIFT[sq] = 64 - Long.bitCount(BISHOP_MASK[sq]);
+            ROOK_OFFSET[sq] = rookSize;
+            BISHOP_OFFSET[sq] = bishopSize;
+            rookSize += 1 << Long.bitCount(ROOK_MASK[sq]);
+            bishopSize += 1 << Long.bitCount(BISHOP_MASK[sq]);
+        }
+        ROOK_TABLE = new long[rookSize];
+        BISHOP_TABLE = new long[bishopSize];
+
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_MAGIC[sq] = fill(sq, true, ROOK_MAGIC[sq]);
+            BISHOP_MAGIC[sq] = fill(sq, false, BISHOP_MAGIC[sq]);
+        }
+
+        if (!selfCheck(256)) throw new IllegalStateException("magic attack tables disagree with ray walkers");
+    }
+
+    public static long rookAttacks(int sq, long occupancy) {
+        return ROOK_TABLE[ROOK_OFFSET[sq] + (int) (((occupancy & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    public static long bishopAttacks(int sq, long occupancy) {
+        return BISHOP_TABLE[BISHOP_OFFSET[sq] + (int) (((occupancy & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    public static long queenAttacks(int sq, long occupancy) {
+        return rookAttacks(sq, occupancy) | bishopAttacks(sq, occupancy);
+    }
+
+    /** Compares table lookups with the ray walkers on random occupancies; true when all agree. */
+    public static boolean selfCheck(int samplesPerSquare) {
+        long r = 0x6A09E667F3BCC909L;
+        for (int sq = 0; sq < 64; sq++) {
+            for (int i = 0; i < samplesPerSquare; i++) {
+                r ^= r << 13; r ^= r >>> 7; r ^= r << 17;
+                long occ = r & (r >>> 11);
+                if (rookAttacks(sq, occ) != BitUtility.rookRays(sq, occ)) return false;
+                if (bishopAttacks(sq, occ) != BitUtility.bishopRays(sq, occ)) return false;
+            }
+            if (rookAttacks(sq, 0L) != BitUtility.rookRays(sq, 0L)) return false;
+            if (bishopAttacks(sq, ~0L) != BitUtility.bishopRays(sq, ~0L)) return false;
+        }
+        return true;
+    }
+
+    private static long fill(int sq, boolean rook, long candidate) {
+        long mask = rook ? ROOK_MASK[sq] : BISHOP_MASK[sq];
+        int bits = Long.bitCount(mask);
+        int shift = 64 - bits;
+        int n = 1 << bits;
+        int offset = rook ? ROOK_OFFSET[sq] : BISHOP_OFFSET[sq];
+        long[] table = rook ? ROOK_TABLE : BISHOP_TABLE;
+
+        long[] occ = new long[n];
+        long[] ref = new long[n];
+        int[] epoch = new int[n];
+        long subset = 0L;
+        for (int i = 0; i < n; i++) {
+            occ[i] = subset;
+            ref[i] = rook ? BitUtility.rookRays(sq, subset) : BitUtility.bishopRays(sq, subset);
+            subset = (subset - mask) & mask;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            long magic = (attempt == 1) ? candidate : nextSparse();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) continue;
+            boolean ok = true;
+            for (int i = 0; i < n && ok; i++) {
+                int idx = (int) ((occ[i] * magic) >>> shift);
+                if (epoch[idx] != attempt) {
+                    epoch[idx] = attempt;
+                    table[offset + idx] = ref[i];
+                } else if (table[offset + idx] != ref[i]) {
+                    ok = false;
+                }
+            }
+            if (ok) return magic;
+        }
+    }
+
+    private static long nextRandom() {
+        long z = (seed += 0x9e3779b97f4a7c15L);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long nextSparse() {
+        return nextRandom() & nextRandom() & nextRandom();
+    }
+
+    private static long rookMask(int sq) {
+        int f = sq & 7, r = sq >>> 3;
+        long m = 0L;
+        for (int rr = r + 1; rr < 7; rr++) m |= 1L << (rr * 8 + f);
+        for (int rr = r - 1; rr > 0; rr--) m |= 1L << (rr * 8 + f);
+        for (int ff = f + 1; ff < 7; ff++) m |= 1L << (r * 8 + ff);
+        for (int ff = f - 1; ff > 0; ff--) m |= 1L << (r * 8 + ff);
+        return m;
+    }
+
+    private static long bishopMask(int sq) {
+        int f = sq & 7, r = sq >>> 3;
+        long m = 0L;
+        for (int ff = f + 1, rr = r + 1; ff < 7 && rr < 7; ff++, rr++) m |= 1L << (rr * 8 + ff);
+        for (int ff = f - 1, rr = r + 1; ff > 0 && rr < 7; ff--, rr++) m |= 1L << (rr * 8 + ff);
+        for (int ff = f + 1, rr = r - 1; ff < 7 && rr > 0; ff++, rr--) m |= 1L << (rr * 8 + ff);
+        for (int ff = f - 1, rr = r - 1; ff > 0 && rr > 0; ff--, rr--) m |= 1L << (rr * 8 + ff);
+        return m;
+    }
+}
@@ -7,43 +7,135 @@ import java.util.List;
 public final class MoveGen {
     private MoveGen(){}
 
+    /**
+     * Generation modes: every pseudo-legal move, only captures and promotions, or only the rest (quiet
+     * non-promoting moves and castling). TACTICAL and QUIETS partition ALL.
+     */
+    public static final int ALL = 0, TACTICAL = 1, QUIETS = 2;
+
+    private static final long RANK_1 = 0xFFL, RANK_8 = 0xFF00000000000000L;
+
 
     public static List<Integer> legalMovesFromSquare(GameState state, int fromSq) {
         List<Integer> legal = new ArrayList<>(32);
-        boolean side = state.whiteToMove();
-
-        MoveGen.generate(state, side, m -> {
+        AttackInfo ai = state.attacks();
+        MoveGen.generate(state, state.whiteToMove(), m -> {
             if (GameState.from(m) != fromSq) return;
-            GameState.Undo u = state.make(m);
-            boolean moverIsWhite = !state.whiteToMove();
-            boolean ok = !Attacks.isInCheck(state, moverIsWhite);
-            state.unmake(u);
-            if (ok) legal.add(m);
+            if (isLegal(state, m, ai)) legal.add(m);
         });
         return legal;
     }
 
     public static List<Integer> generateAllLegal(GameState state) {
         List<Integer> legal = new ArrayList<>(64);
-        boolean side = state.whiteToMove();
-        MoveGen.generate(state, side, m -> {
-            GameState.Undo u = state.make(m);
-            boolean moverIsWhite = !state.whiteToMove();
-            boolean ok = !Attacks.isInCheck(state, moverIsWhite);
-            state.unmake(u);
-            if (ok) legal.add(m);
+        AttackInfo ai = state.attacks();
+        MoveGen.generate(state, state.whiteToMove(), m -> {
+            if (isLegal(state, m, ai)) legal.add(m);
         });
         return legal;
     }
 
+    public static void generateAllLegal(GameState state, MoveList out) {
+        out.clear();
+        generate(state, state.whiteToMove(), out);
+        AttackInfo ai = state.attacks();
+        int n = 0;
+        for (int i = 0; i < out.size(); i++) {
+            int m = out.get(i);
+            if (isLegal(state, m, ai)) out.set(n++, m);
+        }
+        out.truncate(n);
+    }
+
+    /** Enemy pieces giving check to the king of {@code white}. */
+    public static long checkers(GameState s, boolean white) {
+        long k = s.king(white);
+        if (k == 0) return 0L;
+        return Attacks.attackersBy(s, Long.numberOfTrailingZeros(k), !white, s.allPieces());
+    }
+
+    /** Pieces of {@code white} that are absolutely pinned to their own king. */
+    public static long pinned(GameState s, boolean white) {
+        long k = s.king(white);
+        if (k == 0) return 0L;
+        int ksq = Long.numberOfTrailingZeros(k);
+        long occ = s.allPieces();
+        long own = white ? s.whitePieces() : s.blackPieces();
+        long snipers = (BitUtility.squaresARookCouldSlideTo(ksq, 0L) & (s.rooks(!white) | s.queens(!white)))
+                | (BitUtility.squaresABishopCouldSlideTo(ksq, 0L) & (s.bishops(!white) | s.queens(!white)));
+        long pinned = 0L;
+        for (long bb = snipers; bb != 0; bb &= bb - 1) {
+            long between = BitUtility.BETWEEN[ksq][Long.numberOfTrailingZeros(bb)] & occ;
+            if (between != 0 && (between & (between - 1)) == 0 && (between & own) != 0) pinned |= between;
+        }
+        return pinned;
+    }
+
+    /**
+     * {@link #isLegal(GameState, int, long, long)} with the position's attack maps. Out of check a king step
+     * is a single lookup: with no slider on the king, lifting it cannot open a line onto the target.
+     */
+    public static boolean isLegal(GameState s, int m, AttackInfo ai) {
+        if (GameState.moverKind(m) == 5 && ai.checkers() == 0 && !GameState.isCastle(m))
+            return !ai.isAttacked(GameState.to(m), !s.whiteToMove());
+        return isLegal(s, m, ai.pinned(), ai.checkers());
+    }
+
+    /**
+     * Legality of a pseudo-legal move for the side to move, given that side's pinned pieces and checkers.
+     * Only king moves and en passant look at attacks; everything else is a mask test.
+     */
+    public static boolean isLegal(GameState s, int m, long pinned, long checkers) {
+        boolean white = s.whiteToMove();
+        long kingBB = s.king(white);
+        if (kingBB == 0) return false;
+        int ksq = Long.numberOfTrailingZeros(kingBB);
+        int from = GameState.from(m), to = GameState.to(m);
+
+        if (GameState.moverKind(m) == 5) {
+            if (GameState.isCastle(m)) return true;
+            long occ = s.allPieces() ^ kingBB;
+            return Attacks.attackersBy(s, to, !white, occ) == 0;
+        }
+        if (GameState.isEP(m)) {
+            int capSq = white ? (to - 8) : (to + 8);
+            long capMask = 1L << capSq;
+            long occ = (s.allPieces() ^ (1L << from) ^ capMask) | (1L << to);
+            return (Attacks.attackersBy(s, ksq, !white, occ) & ~capMask) == 0;
+        }
+        if (checkers != 0) {
+            if ((checkers & (checkers - 1)) != 0) return false;
+            long block = checkers | BitUtility.BETWEEN[ksq][Long.numberOfTrailingZeros(checkers)];
+            if ((block & (1L << to)) == 0) return false;
+        }
+        if ((pinned & (1L << from)) != 0) return (BitUtility.LINE[ksq][from] & (1L << to)) != 0;
+        return true;
+    }
+
+    public static void generate(GameState s, boolean white, MoveList out) {
+        generate(s, white, out, ALL);
+    }
+
+    public static void generate(GameState s, boolean white, MoveList out, int mode) {
+        generate(s, white, (java.util.function.IntConsumer) out, mode);
+    }
+
     public static void generate(GameState s, boolean white, java.util.function.IntConsumer sink) {
+        generate(s, white, sink, ALL);
+    }
+
+    public static void generate(GameState s, boolean white, java.util.function.IntConsumer sink, int mode) {
         final long own = white ? s.whitePieces() : s.blackPieces();
         final long opp = white ? s.blackPieces() : s.whitePieces();
         final long occ = s.allPieces();
         final long empty = ~occ;
+        final boolean tactical = mode == TACTICAL, quiets = mode == QUIETS;
+        final long targets = tactical ? opp : quiets ? empty : ~own;
         long pawns = s.pawns(white);
         long singles = white ? ((pawns << 8) & empty)
                 : ((pawns >>> 8) & empty);
+        if (tactical) singles &= white ? RANK_8 : RANK_1;
+        if (quiets) singles &= ~(white ? RANK_8 : RANK_1);
         long singlesBB = singles;
         while (singlesBB != 0) {
             long toBB = singlesBB & -singlesBB;
@@ -63,7 +155,9 @@ public final class MoveGen {
             singlesBB ^= toBB;
         }
         long doubles;
-        if (white) {
+        if (tactical) {
+            doubles = 0L;
+        } else if (white) {
             long wpOnStart = pawns & BitUtility.maskForRank(2);
             long oneStep   = (wpOnStart << 8) & empty;
             doubles        = (oneStep << 8) & empty;
@@ -82,7 +176,7 @@ public final class MoveGen {
         }
         long pawnAttacks = white ? BitUtility.whitePawnAttacks(pawns)
                 : BitUtility.blackPawnAttacks(pawns);
-        long pawnCaps = pawnAttacks & opp;
+        long pawnCaps = quiets ? 0L : pawnAttacks & opp;
 
         long capsBB = pawnCaps;
         while (capsBB != 0) {
@@ -156,7 +250,7 @@ public final class MoveGen {
 
             capsBB ^= toBB;
         }
-        int ep = s.epSquare();
+        int ep = quiets ? -1 : s.epSquare();
         if (ep != -1) {
             int tf = ep & 7;
             if (white) {
@@ -192,8 +286,8 @@ public final class MoveGen {
         while (nBB != 0) {
             long fromBB = nBB & -nBB;
             int from = Long.numberOfTrailingZeros(fromBB);
-            long targets = BitUtility.squaresAKnightCouldAttackFrom(from) & ~own;
-            long t = targets;
+            long pieceTargets = BitUtility.squaresAKnightCouldAttackFrom(from) & targets;
+            long t = pieceTargets;
             while (t != 0) {
                 long toBit = t & -t;
                 int to = Long.numberOfTrailingZeros(toBit);
@@ -208,8 +302,8 @@ public final class MoveGen {
         while (bBB != 0) {
             long fromBB = bBB & -bBB;
             int from = Long.numberOfTrailingZeros(fromBB);
-            long targets = BitUtility.squaresABishopCouldSlideTo(from, occ) & ~own;
-            long t = targets;
+            long pieceTargets = BitUtility.squaresABishopCouldSlideTo(from, occ) & targets;
+            long t = pieceTargets;
             while (t != 0) {
                 long toBit = t & -t;
                 int to = Long.numberOfTrailingZeros(toBit);
@@ -224,8 +318,8 @@ public final class MoveGen {
         while (rBB != 0) {
             long fromBB = rBB & -rBB;
             int from = Long.numberOfTrailingZeros(fromBB);
-            long targets = BitUtility.squaresARookCouldSlideTo(from, occ) & ~own;
-            long t = targets;
+            long pieceTargets = BitUtility.squaresARookCouldSlideTo(from, occ) & targets;
+            long t = pieceTargets;
             while (t != 0) {
                 long toBit = t & -t;
                 int to = Long.numberOfTrailingZeros(toBit);
@@ -240,8 +334,8 @@ public final class MoveGen {
         while (qBB != 0) {
             long fromBB = qBB & -qBB;
             int from = Long.numberOfTrailingZeros(fromBB);
-            long targets = BitUtility.squaresAQueenCouldSlideTo(from, occ) & ~own;
-            long t = targets;
+            long pieceTargets = BitUtility.squaresAQueenCouldSlideTo(from, occ) & targets;
+            long t = pieceTargets;
             while (t != 0) {
                 long toBit = t & -t;
                 int to = Long.numberOfTrailingZeros(toBit);
@@ -254,7 +348,7 @@ public final class MoveGen {
         long king = s.king(white);
         if (king != 0) {
             int from = Long.numberOfTrailingZeros(king);
-            long kTargets = BitUtility.squaresAKingCouldAttackFrom(from) & ~own;
+            long kTargets = BitUtility.squaresAKingCouldAttackFrom(from) & targets;
             long t = kTargets;
             while (t != 0) {
                 long toBit = t & -t;
@@ -263,58 +357,79 @@ public final class MoveGen {
                 sink.accept(GameState.move(from, to, 5, flags, -1));
                 t ^= toBit;
             }
-            if (white) {
-                int e1 = BitUtility.squareIndexOf("e1");
-                int f1 = BitUtility.squareIndexOf("f1");
-                int g1 = BitUtility.squareIndexOf("g1");
-                int d1 = BitUtility.squareIndexOf("d1");
-                int c1 = BitUtility.squareIndexOf("c1");
-                int b1 = BitUtility.squareIndexOf("b1");
-                if ((s.castlingRights() & 0b0001) != 0) {
-                    boolean pathEmpty = ((occ & (BitUtility.maskFor("f1") | BitUtility.maskFor("g1"))) == 0);
-                    if (pathEmpty
-                            && !Attacks.isSquareAttackedBy(s, e1, false)
-                            && !Attacks.isSquareAttackedBy(s, f1, false)
-                            && !Attacks.isSquareAttackedBy(s, g1, false)) {
-                        sink.accept(GameState.move(e1, g1, 5, GameState.FLAG_CASTLE, -1));
-                    }
-                }
-                if ((s.castlingRights() & 0b0010) != 0) {
-                    boolean pathEmpty = ((occ & (BitUtility.maskFor("d1") | BitUtility.maskFor("c1") | BitUtility.maskFor("b1"))) == 0);
-                    if (pathEmpty
-                            && !Attacks.isSquareAttackedBy(s, e1, false)
-                            && !Attacks.isSquareAttackedBy(s, d1, false)
-                            && !Attacks.isSquareAttackedBy(s, c1, false)) {
-                        sink.accept(GameState.move(e1, c1, 5, GameState.FLAG_CASTLE, -1));
-                    }
-                }
-            } else {
-                int e8 = BitUtility.squareIndexOf("e8");
-                int f8 = BitUtility.squareIndexOf("f8");
-                int g8 = BitUtility.squareIndexOf("g8");
-                int d8 = BitUtility.squareIndexOf("d8");
-                int c8 = BitUtility.squareIndexOf("c8");
-                int b8 = BitUtility.squareIndexOf("b8");
-                if ((s.castlingRights() & 0b0100) != 0) {
-                    boolean pathEmpty = ((occ & (BitUtility.maskFor("f8") | BitUtility.maskFor("g8"))) == 0);
-                    if (pathEmpty
-                            && !Attacks.isSquareAttackedBy(s, e8, true)
-                            && !Attacks.isSquareAttackedBy(s, f8, true)
-                            && !Attacks.isSquareAttackedBy(s, g8, true)) {
-                        sink.accept(GameState.move(e8, g8, 5, GameState.FLAG_CASTLE, -1));
-                    }
+            if (tactical) return;
+            if (canCastle(s, white, true, occ)) sink.accept(castleMove(white, true));
+            if (canCastle(s, white, false, occ)) sink.accept(castleMove(white, false));
+        }
+    }
+
+    private static boolean canCastle(GameState s, boolean white, boolean kingSide, long occ) {
+        int right = white ? (kingSide ? 0b0001 : 0b0010) : (kingSide ? 0b0100 : 0b1000);
+        if ((s.castlingRights() & right) == 0) return false;
+        long path = (kingSide ? 0x60L : 0x0EL) << (white ? 0 : 56);
+        if ((occ & path) != 0) return false;
+        int e = white ? 4 : 60;
+        long walk = (kingSide ? 0x70L : 0x1CL) << (e - 4);
+        return (s.attacks().attacked(!white) & walk) == 0;
+    }
+
+    private static int castleMove(boolean white, boolean kingSide) {
+        int e = white ? 4 : 60;
+        return GameState.move(e, e + (kingSide ? 2 : -2), 5, GameState.FLAG_CASTLE, -1);
+    }
+
+    /**
+     * Whether {@code m} is a move the generator could produce in this position, for moves that come from
+     * somewhere other than the generator (hash moves, killers). Legality is still left to {@link #isLegal}.
+     */
+    public static boolean isPseudoLegal(GameState s, int m) {
+        if (m <= 0) return false;
+        boolean white = s.whiteToMove();
+        int from = GameState.from(m), to = GameState.to(m), kind = GameState.moverKind(m);
+        if (kind > 5 || (s.pieces(kind, white) & (1L << from)) == 0) return false;
+        long own = white ? s.whitePieces() : s.blackPieces();
+        long opp = white ? s.blackPieces() : s.whitePieces();
+        long occ = s.allPieces();
+        long toBB = 1L << to;
+        if ((own & toBB) != 0) return false;
+
+        int promo = GameState.promoKind(m);
+        if (promo > 3) return false;
+        if (kind != 0 && (promo >= 0 || GameState.isEP(m) || GameState.isDoublePawn(m))) return false;
+        if (kind != 5 && GameState.isCastle(m)) return false;
+
+        if (GameState.isEP(m)) {
+            return to == s.epSquare() && GameState.isCapture(m) && (pawnAttacks(from, white) & toBB) != 0;
+        }
+        if (GameState.isCapture(m) != ((opp & toBB) != 0)) return false;
+
+        switch (kind) {
+            case 0 -> {
+                boolean lastRank = ((white ? RANK_8 : RANK_1) & toBB) != 0;
+                if (lastRank != (promo >= 0)) return false;
+                if (GameState.isCapture(m)) return (pawnAttacks(from, white) & toBB) != 0;
+                int push = white ? 8 : -8;
+                if (GameState.isDoublePawn(m)) {
+                    boolean startRank = (from >>> 3) == (white ? 1 : 6);
+                    return startRank && to == from + 2 * push && (occ & ((1L << (from + push)) | toBB)) == 0;
                 }
-                if ((s.castlingRights() & 0b1000) != 0) {
-                    boolean pathEmpty = ((occ & (BitUtility.maskFor("d8") | BitUtility.maskFor("c8") | BitUtility.maskFor("b8"))) == 0);
-                    if (pathEmpty
-                            && !Attacks.isSquareAttackedBy(s, e8, true)
-                            && !Attacks.isSquareAttackedBy(s, d8, true)
-                            && !Attacks.isSquareAttackedBy(s, c8, true)) {
-                        sink.accept(GameState.move(e8, c8, 5, GameState.FLAG_CASTLE, -1));
-                    }
+                return to == from + push;
+            }
+            case 1 -> { return (BitUtility.KNIGHT_ATTACKS[from] & toBB) != 0; }
+            case 2 -> { return (BitUtility.squaresABishopCouldSlideTo(from, occ) & toBB) != 0; }
+            case 3 -> { return (BitUtility.squaresARookCouldSlideTo(from, occ) & toBB) != 0; }
+            case 4 -> { return (BitUtility.squaresAQueenCouldSlideTo(from, occ) & toBB) != 0; }
+            default -> {
+                if (GameState.isCastle(m)) {
+                    boolean kingSide = to > from;
+                    return m == castleMove(white, kingSide) && canCastle(s, white, kingSide, occ);
                 }
+                return (BitUtility.KING_ATTACKS[from] & toBB) != 0;
             }
         }
     }
 
+    private static long pawnAttacks(int from, boolean white) {
+        return white ? BitUtility.WHITE_PAWN_ATTACKS[from] : BitUtility.BLACK_PAWN_ATTACKS[from];
+    }
 }
@@ -0,0 +1,49 @@
+package com.jaceg18.Gameplay.Utility;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Reusable int-backed move buffer with a parallel score array. Implements {@link IntConsumer} so it
+ * can be handed straight to {@link MoveGen#generate} without a capturing lambda.
+ */
+public final class MoveList implements IntConsumer {
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private final int[] scores = new int[CAPACITY];
+    private int size;
+
+    @Override public void accept(int m) { moves[size++] = m; }
+
+    public void add(int m) { moves[size++] = m; }
+    public void clear() { size = 0; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public int get(int i) { return moves[i]; }
+    public void set(int i, int m) { moves[i] = m; }
+    public int score(int i) { return scores[i]; }
+    public void setScore(int i, int sc) { scores[i] = sc; }
+
+    public boolean contains(int m) {
+        for (int i = 0; i < size; i++) if (moves[i] == m) return true;
+        return false;
+    }
+
+    public void truncate(int newSize) { size = newSize; }
+
+    /** Stable insertion sort by descending score; lists are short enough that this beats a merge sort. */
+    public void sortByScore() {
+        for (int i = 1; i < size; i++) {
+            int m = moves[i], sc = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < sc) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = m;
+            scores[j + 1] = sc;
+        }
+    }
+}
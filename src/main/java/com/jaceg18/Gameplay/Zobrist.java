@@ -29,37 +29,35 @@ public final class Zobrist {
         return z ^ (z >>> 31);
     }
 
-    private static int bsf(long bb) {
-        return Long.numberOfTrailingZeros(bb);
+    public static long pieceKey(int pieceIdx, int sq) {
+        return PSQ[pieceIdx][sq];
     }
 
-    private static void xorPieces(long bb, int pieceIdx, long[] acc) {
-        while (bb != 0) {
-            long lsb = bb & -bb;
-            int sq = bsf(lsb);
-            acc[0] ^= PSQ[pieceIdx][sq];
-            bb ^= lsb;
-        }
+    public static long compute(GameState s) {
+        long k = 0L;
+        k ^= pieces(s.pawns(true), 0);
+        k ^= pieces(s.knights(true), 1);
+        k ^= pieces(s.bishops(true), 2);
+        k ^= pieces(s.rooks(true), 3);
+        k ^= pieces(s.queens(true), 4);
+        k ^= pieces(s.king(true), 5);
+        k ^= pieces(s.pawns(false), 6);
+        k ^= pieces(s.knights(false), 7);
+        k ^= pieces(s.bishops(false), 8);
+        k ^= pieces(s.rooks(false), 9);
+        k ^= pieces(s.queens(false), 10);
+        k ^= pieces(s.king(false), 11);
+        return k ^ stateKey(s);
     }
 
-    public static long compute(GameState s) {
-        long[] kbox = new long[1];
-        xorPieces(s.pawns(true), 0, kbox);
-        xorPieces(s.knights(true), 1, kbox);
-        xorPieces(s.bishops(true), 2, kbox);
-        xorPieces(s.rooks(true), 3, kbox);
-        xorPieces(s.queens(true), 4, kbox);
-        xorPieces(s.king(true), 5, kbox);
-        xorPieces(s.pawns(false), 6, kbox);
-        xorPieces(s.knights(false), 7, kbox);
-        xorPieces(s.bishops(false), 8, kbox);
-        xorPieces(s.rooks(false), 9, kbox);
-        xorPieces(s.queens(false), 10, kbox);
-        xorPieces(s.king(false), 11, kbox);
-
-        long k = kbox[0];
-
-        k ^= CASTLING[s.castlingRights() & 15];
+    /** Key of the pawns alone, for the pawn hash; kept incrementally by {@link GameState}. */
+    public static long pawnKey(GameState s) {
+        return pieces(s.pawns(true), 0) ^ pieces(s.pawns(false), 6);
+    }
+
+    /** Castling, en-passant and side-to-move part of the key; O(1), used by the incremental update. */
+    public static long stateKey(GameState s) {
+        long k = CASTLING[s.castlingRights() & 15];
 
         int ep = s.epSquare();
         if (ep >= 0 && epCaptureIsLegalThisPly(s, ep)) {
@@ -71,6 +69,15 @@ public final class Zobrist {
         return k;
     }
 
+    private static long pieces(long bb, int pieceIdx) {
+        long k = 0L;
+        while (bb != 0) {
+            k ^= PSQ[pieceIdx][Long.numberOfTrailingZeros(bb)];
+            bb &= bb - 1;
+        }
+        return k;
+    }
+
     private static boolean epCaptureIsLegalThisPly(GameState s, int epSquare) {
         long epBB = 1L << epSquare;
         if (s.whiteToMove()) {
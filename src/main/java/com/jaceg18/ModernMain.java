@@ -2,9 +2,12 @@ package com.jaceg18;
 
 import com.jaceg18.Gameplay.Opening.OpeningBook;
 import com.jaceg18.Gameplay.Search.AI.AiFactory;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.SearchListener;
+import com.jaceg18.Gameplay.Search.AI.Algorithm.StdoutSearchListener;
 import com.jaceg18.Gameplay.Search.AI.SearchConstants;
 import com.jaceg18.Gameplay.Search.SearchEngine;
 import com.jaceg18.Gameplay.UI.ChessBoardPanel;
+import com.jaceg18.Gameplay.UI.ConsoleSearchListener;
 import com.jaceg18.Gameplay.UI.EngineAdapter;
 import com.jaceg18.Gameplay.UI.ModernConsolePanel;
 import com.jaceg18.Gameplay.UI.ModernTheme;
@@ -95,6 +98,7 @@ public class ModernMain {
     private static SearchEngine setupChessEngine() {
         SearchEngine engine = AiFactory.balanced();
         engine.setMaxDepth(SearchConstants.MAX_DEPTH);
+        engine.setSearchListener(SearchListener.of(new StdoutSearchListener(), new ConsoleSearchListener(console)));
         
         try {
             OpeningBook openingBook = OpeningBook.load("src/main/resources/openings.txt");
@@ -152,6 +156,27 @@ public class ModernMain {
             depthMenu.add(createMenuItem("Depth " + depth, e -> engine.setMaxDepth(d)));
         }
         engineMenu.add(depthMenu);
+
+        JMenu threadsMenu = new JMenu("Search Threads");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int n = 1; n <= cores; n <<= 1) {
+            final int t = n;
+            threadsMenu.add(createMenuItem(t + (t == 1 ? " Thread" : " Threads"), e -> engine.setThreads(t)));
+        }
+        engineMenu.add(threadsMenu);
+
+        JMenu hashMenu = new JMenu("Hash Size");
+        long maxMb = Runtime.getRuntime().maxMemory() >> 20;
+        for (int mb = 16; mb <= 4096 && mb <= maxMb / 2; mb <<= 1) {
+            final int size = mb;
+            hashMenu.add(createMenuItem(size + " MB", e -> engine.setHashSizeMb(size)));
+        }
+        engineMenu.add(hashMenu);
+
+        JCheckBoxMenuItem ponderItem = new JCheckBoxMenuItem("Ponder", true);
+        ponderItem.setFont(ModernTheme.getUIFont(12));
+        ponderItem.addActionListener(e -> board.setPonder(ponderItem.isSelected()));
+        engineMenu.add(ponderItem);
         JMenu analysisMenu = new JMenu("Analysis");
         analysisMenu.add(createMenuItem("Probe Tablebase", e -> board.probeTB()));
         analysisMenu.add(createMenuItem("Show Evaluation", e -> {